@@ -0,0 +1,22 @@
+package benchmarks;
+
+import generator.GraphGenerator;
+import generator.GraphModel;
+import graph.*;
+
+/** Seeded graphs for the JMH suite, built with {@link GraphGenerator}. */
+final class BenchmarkGraphs {
+    static final long SEED = 2024L;
+
+    private BenchmarkGraphs() {}
+
+    /** Connected Erdős–Rényi graph with about density * V(V-1)/2 edges. */
+    static Graph random(int id, int vertices, double density, long seed) {
+        long edges = GraphGenerator.edgesForDensity(vertices, density);
+        return generate(id, GraphModel.ERDOS_RENYI, vertices, edges, seed);
+    }
+
+    static Graph generate(int id, GraphModel model, int vertices, long edges, long seed) {
+        return new Graph(new GraphGenerator(model, vertices, edges, seed).toCompact(id));
+    }
+}
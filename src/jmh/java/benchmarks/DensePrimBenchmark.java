@@ -0,0 +1,55 @@
+package benchmarks;
+
+import algorithms.Prim;
+import graph.CompactGraph;
+import metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap-based Prim (lazy and eager) against the O(V^2) array Prim across the density
+ * range, to find where scanning all remaining vertices beats a heap of edges, and the
+ * dense scan with and without the Vector API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class DensePrimBenchmark {
+
+    @Param({"1000", "2000"})
+    public int vertices;
+
+    @Param({"0.01", "0.05", "0.25", "1.0"})
+    public double density;
+
+    private CompactGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkGraphs.random(1, vertices, density, BenchmarkGraphs.SEED).getCompact();
+    }
+
+    @Benchmark
+    public Metrics heap() {
+        return Prim.run(graph);
+    }
+
+    @Benchmark
+    public Metrics eager() {
+        return Prim.runEager(graph, Prim.DEFAULT_ARITY);
+    }
+
+    @Benchmark
+    public Metrics dense() {
+        return Prim.runDense(graph, false);
+    }
+
+    @Benchmark
+    public Metrics denseVector() {
+        return Prim.runDense(graph, true);
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import algorithms.DynamicMST;
+import algorithms.Kruskal;
+import algorithms.Prim;
+import graph.*;
+import metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a single weight update on a maintained MST versus recomputing the MST
+ * from scratch, on graphs the size of the extra-large input (2000 vertices, ~100k edges).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DynamicMSTBenchmark {
+
+    @Param({"1000", "2000"})
+    public int vertices;
+
+    @Param({"0.05"})
+    public double density;
+
+    private Graph graph;
+    private DynamicMST dynamic;
+    private String[] from;
+    private String[] to;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkGraphs.random(1, vertices, density, BenchmarkGraphs.SEED);
+        dynamic = new DynamicMST(graph);
+        CompactGraph c = graph.getCompact();
+        from = new String[c.edgeCount()];
+        to = new String[c.edgeCount()];
+        for (int e = 0; e < c.edgeCount(); e++) {
+            from[e] = c.name(c.from(e));
+            to[e] = c.name(c.to(e));
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public double updateWeight() {
+        int e = random.nextInt(from.length);
+        dynamic.updateWeight(from[e], to[e], 1 + random.nextInt(100));
+        return dynamic.getOperations();
+    }
+
+    @Benchmark
+    public Metrics recomputeKruskal() {
+        return Kruskal.run(graph);
+    }
+
+    @Benchmark
+    public Metrics recomputePrim() {
+        return Prim.run(graph);
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import algorithms.Algorithm;
+import graph.Graph;
+import metrics.CsvSink;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+
+/**
+ * Runs the JMH suite with the GC profiler, prints score ± 99.9% error and allocation
+ * per operation, and exports the averages to benchmark_results.csv in the existing
+ * column layout. Accepts regular JMH command-line options; the CSV path can be
+ * changed with -Dmst.benchmarkCsv.
+ */
+public class JmhRunner {
+    static final String CSV_HEADER =
+            "GraphID,Nodes,Edges,PrimAvgMs,KruskalAvgMs,PrimOps,KruskalOps,ObjectBytes,CompactBytes,"
+                    + "PrimEagerAvgMs,PrimEagerOps,FilterKruskalAvgMs";
+
+    public static void main(String[] args) throws Exception {
+        String csvPath = System.getProperty("mst.benchmarkCsv", "data/output/benchmark_results.csv");
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmd);
+        if (cmd.getIncludes().isEmpty()) builder.include(MSTBenchmark.class.getSimpleName());
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .result("target/jmh-result.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.printf("%n%-16s %6s %8s %14s %12s %14s%n", "algorithm", "V", "density", "avg ms", "+- 99.9%", "alloc B/op");
+        Map<String, Map<String, Double>> rows = new TreeMap<>(Comparator.comparingDouble((String k) -> Double.parseDouble(k.split("/")[0]))
+                .thenComparingDouble(k -> Double.parseDouble(k.split("/")[1])));
+        for (RunResult r : results) {
+            String algorithm = r.getParams().getParam("algorithm");
+            String vertices = r.getParams().getParam("vertices");
+            String density = r.getParams().getParam("density");
+            if (algorithm == null || vertices == null || density == null) continue;
+            Result<?> primary = r.getPrimaryResult();
+            System.out.printf(Locale.US, "%-16s %6s %8s %14.4f %12.4f %14.0f%n", algorithm, vertices, density,
+                    primary.getScore(), primary.getScoreError(), allocation(r));
+            rows.computeIfAbsent(vertices + "/" + density, k -> new HashMap<>()).put(algorithm, primary.getScore());
+        }
+
+        exportCSV(rows, csvPath);
+    }
+
+    static double allocation(RunResult r) {
+        Map<String, Result> secondary = r.getSecondaryResults();
+        for (String key : new String[]{"gc.alloc.rate.norm", "·gc.alloc.rate.norm"}) {
+            if (secondary.containsKey(key)) return secondary.get(key).getScore();
+        }
+        return Double.NaN;
+    }
+
+    private static void exportCSV(Map<String, Map<String, Double>> rows, String csvPath) {
+        try (CsvSink sink = new CsvSink(csvPath, CSV_HEADER)) {
+            int id = 1;
+            for (Map.Entry<String, Map<String, Double>> row : rows.entrySet()) {
+                String[] key = row.getKey().split("/");
+                Graph g = BenchmarkGraphs.random(id, Integer.parseInt(key[0]), Double.parseDouble(key[1]), BenchmarkGraphs.SEED);
+                Map<String, Double> ms = row.getValue();
+                sink.field(id++).field(g.vertexCount()).field(g.edgeCount())
+                        .field(score(ms, Algorithm.PRIM), 4).field(score(ms, Algorithm.KRUSKAL), 4)
+                        .field(Algorithm.PRIM.run(g).getOperations()).field(Algorithm.KRUSKAL.run(g).getOperations())
+                        .field(g.estimateObjectBytes()).field(g.getCompact().estimateBytes())
+                        .field(score(ms, Algorithm.PRIM_EAGER), 4).field(Algorithm.PRIM_EAGER.run(g).getOperations())
+                        .field(score(ms, Algorithm.FILTER_KRUSKAL), 4)
+                        .endRow();
+            }
+            System.out.println("\nBenchmark results saved to " + csvPath);
+        } catch (Exception e) {
+            System.err.println("Failed to write CSV: " + e.getMessage());
+        }
+    }
+
+    private static double score(Map<String, Double> ms, Algorithm algorithm) {
+        return ms.getOrDefault(algorithm.name(), Double.NaN);
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import algorithms.Kruskal;
+import algorithms.SortMethod;
+import graph.CompactGraph;
+import metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kruskal with each edge sort on graphs the size of the large inputs: density 100/V
+ * gives 49950 edges at V=1000 and 99950 at V=2000. A threshold of Integer.MAX_VALUE
+ * keeps PARALLEL on the sequential Arrays.sort; the sort phase alone is reported in
+ * Metrics.getProfile() and the output files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class KruskalSortBenchmark {
+
+    @Param({"1000", "2000"})
+    public int vertices;
+
+    @Param({"PARALLEL", "RADIX"})
+    public SortMethod sort;
+
+    @Param({"8192", "2147483647"})
+    public int parallelThreshold;
+
+    private CompactGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkGraphs.random(1, vertices, 100.0 / vertices, BenchmarkGraphs.SEED).getCompact();
+    }
+
+    @Benchmark
+    public Metrics kruskal() {
+        return Kruskal.run(graph, sort, parallelThreshold);
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import algorithms.Algorithm;
+import graph.Graph;
+import metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Average time per MST run, parameterized over graph size, density and implementation. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class MSTBenchmark {
+
+    @Param({"100", "1000", "2000"})
+    public int vertices;
+
+    @Param({"0.05", "0.25", "1.0"})
+    public double density;
+
+    @Param({"PRIM", "PRIM_EAGER", "KRUSKAL", "FILTER_KRUSKAL", "BORUVKA"})
+    public Algorithm algorithm;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkGraphs.random(1, vertices, density, BenchmarkGraphs.SEED);
+        graph.getCompact();
+    }
+
+    @Benchmark
+    public Metrics solve() {
+        return algorithm.run(graph);
+    }
+}
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import algorithms.Kruskal;
+import algorithms.MstPathIndex;
+import graph.*;
+import metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bottleneck (max edge on path) query throughput on the MST of the 2000-vertex,
+ * ~100k-edge graph: single indexed queries, the batch API sequentially and in
+ * parallel, and the tree walk per query that it replaces. Scores are queries per
+ * microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MstPathIndexBenchmark {
+    private static final int QUERIES = 1 << 16;
+    private static final int WALK_QUERIES = 256;
+
+    @Param({"2000"})
+    public int vertices;
+
+    @Param({"0.05"})
+    public double density;
+
+    private List<Edge> tree;
+    private MstPathIndex index;
+    private int[] from;
+    private int[] to;
+    private List<List<int[]>> adjacency;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Metrics mst = Kruskal.run(BenchmarkGraphs.random(1, vertices, density, BenchmarkGraphs.SEED));
+        tree = mst.getMstEdges();
+        index = new MstPathIndex(mst);
+        SplittableRandom random = new SplittableRandom(7);
+        from = new int[QUERIES];
+        to = new int[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            from[q] = random.nextInt(index.vertexCount());
+            to[q] = random.nextInt(index.vertexCount());
+        }
+        adjacency = new ArrayList<>();
+        for (int v = 0; v < index.vertexCount(); v++) adjacency.add(new ArrayList<>());
+        for (int e = 0; e < tree.size(); e++) {
+            int u = index.vertex(tree.get(e).getFrom()), v = index.vertex(tree.get(e).getTo());
+            adjacency.get(u).add(new int[]{v, e});
+            adjacency.get(v).add(new int[]{u, e});
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public double single() {
+        double sum = 0;
+        for (int q = 0; q < QUERIES; q++) sum += index.maxWeight(from[q], to[q]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public double[] batchParallel() {
+        return index.maxWeights(from, to);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public double pathLength() {
+        double sum = 0;
+        for (int q = 0; q < QUERIES; q++) sum += index.pathLength(from[q], to[q]);
+        return sum;
+    }
+
+    /** What callers did before: walk the tree from one endpoint until the other is found. */
+    @Benchmark
+    @OperationsPerInvocation(WALK_QUERIES)
+    public double treeWalk() {
+        int n = index.vertexCount();
+        int[] parentEdge = new int[n];
+        int[] queue = new int[n];
+        double sum = 0;
+        for (int q = 0; q < WALK_QUERIES; q++) {
+            Arrays.fill(parentEdge, -2);
+            int source = from[q], target = to[q];
+            parentEdge[source] = -1;
+            int head = 0, tail = 0;
+            queue[tail++] = source;
+            while (head < tail && parentEdge[target] == -2) {
+                int u = queue[head++];
+                for (int[] next : adjacency.get(u)) {
+                    if (parentEdge[next[0]] != -2) continue;
+                    parentEdge[next[0]] = next[1];
+                    queue[tail++] = next[0];
+                }
+            }
+            double max = Double.NEGATIVE_INFINITY;
+            for (int x = target; parentEdge[x] >= 0; ) {
+                Edge e = tree.get(parentEdge[x]);
+                max = Math.max(max, e.getWeight());
+                int u = index.vertex(e.getFrom());
+                x = u == x ? index.vertex(e.getTo()) : u;
+            }
+            sum += max;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MstPathIndex build() {
+        return new MstPathIndex(tree);
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import algorithms.Prim;
+import graph.CompactGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of a reused {@link Prim.Solver}. With the GC profiler
+ * (JmhRunner adds it) gc.alloc.rate.norm should be ~0 B/op after warmup, while
+ * {@code metrics} shows what materializing the Metrics result adds on top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PrimSolverBenchmark {
+
+    @Param({"1000", "2000"})
+    public int vertices;
+
+    @Param({"0.05", "1.0"})
+    public double density;
+
+    private CompactGraph graph;
+    private Prim.Solver solver;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkGraphs.random(1, vertices, density, BenchmarkGraphs.SEED).getCompact();
+        solver = new Prim.Solver();
+    }
+
+    @Benchmark
+    public double solve() {
+        return solver.solve(graph);
+    }
+
+    @Benchmark
+    public Object metrics() {
+        solver.solve(graph);
+        return solver.toMetrics(0);
+    }
+}
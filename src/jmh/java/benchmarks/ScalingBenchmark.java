@@ -0,0 +1,44 @@
+package benchmarks;
+
+import algorithms.Algorithm;
+import generator.GraphModel;
+import graph.Graph;
+import metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling curves for large generated graphs (average degree 8). Graphs are generated
+ * once per trial; run with -p vertices=... to extend or shorten the curve.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int vertices;
+
+    @Param({"ERDOS_RENYI", "GRID", "POWER_LAW"})
+    public GraphModel model;
+
+    @Param({"PRIM", "KRUSKAL"})
+    public Algorithm algorithm;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkGraphs.generate(1, model, vertices, 4L * vertices, BenchmarkGraphs.SEED);
+        graph.getCompact();
+    }
+
+    @Benchmark
+    public Metrics solve() {
+        return algorithm.run(graph);
+    }
+}
@@ -1,14 +1,23 @@
 import algorithms.*;
-import graph.*;
-import json.*;
+import cache.*;
 import metrics.*;
+import pipeline.*;
 
 import java.util.*;
-import java.io.*;
 
+/**
+ * Runs the selected MST algorithms over the input files. Input paths may be passed
+ * as arguments; the pipeline is tuned with system properties:
+ * mst.algorithms (comma separated, default prim,kruskal), mst.workers,
+ * mst.virtualThreads and mst.maxInFlight. Setting mst.cacheDir enables the on-disk
+ * result cache, bounded by mst.cacheMaxBytes (default 256 MB). mst.preprocess=true drops
+ * self-loops and all but the lightest of parallel edges before solving.
+ * mst.boruvkaParallelism sizes the pool shared by all Boruvka runs. Phase timers,
+ * counters and latency histograms are recorded unless mst.instrument=false.
+ */
 public class Main {
     public static void main(String[] args) {
-        String[] inputFiles = {
+        String[] inputFiles = args.length > 0 ? args : new String[]{
                 "data/input/input.json",
                 "data/input/input_extralarge.json"
         };
@@ -16,34 +25,37 @@ public class Main {
         String outputJson = "data/output/output.json";
         String csvPath = "data/output/result.csv";
 
-        List<Metrics> primResults = new ArrayList<>();
-        List<Metrics> kruskalResults = new ArrayList<>();
+        List<Algorithm> algorithms = new ArrayList<>();
+        for (String name : System.getProperty("mst.algorithms", "prim,kruskal").split(","))
+            algorithms.add(Algorithm.fromName(name.trim()));
+        int workers = Integer.getInteger("mst.workers", Runtime.getRuntime().availableProcessors());
+        boolean virtualThreads = Boolean.getBoolean("mst.virtualThreads");
+        int maxInFlight = Integer.getInteger("mst.maxInFlight", 2 * workers);
 
-        for (String inputPath : inputFiles) {
-            try {
-                System.out.println("Reading " + inputPath);
-                List<Graph> graphs = JsonReader.readGraphs(inputPath);
-
-                for (Graph g : graphs) {
-                    Metrics primM = Prim.run(g);
-                    Metrics kruskalM = Kruskal.run(g);
-                    primResults.add(primM);
-                    kruskalResults.add(kruskalM);
-                }
-
-            } catch (Exception e) {
-                System.err.println("Error " + inputPath + ": " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
         try {
-            JsonWriter.writeResults(primResults, kruskalResults, outputJson);
-
-            List<Metrics> all = new ArrayList<>();
-            all.addAll(primResults);
-            all.addAll(kruskalResults);
-            Metrics.exportToCSV(all, csvPath);
+            Pipeline pipeline = new Pipeline(algorithms, workers, virtualThreads, maxInFlight);
+            ResultCache cache = null;
+            String cacheDir = System.getProperty("mst.cacheDir");
+            if (cacheDir != null) {
+                cache = new ResultCache(cacheDir, Long.getLong("mst.cacheMaxBytes", 256L << 20));
+                pipeline.setCache(cache);
+            }
+            boolean preprocess = Boolean.getBoolean("mst.preprocess");
+            pipeline.setPreprocess(preprocess);
+            int graphs = pipeline.run(Arrays.asList(inputFiles), outputJson, csvPath);
 
+            System.out.println("Processed " + graphs + " graphs");
+            if (cache != null)
+                System.out.println("Cache hits: " + cache.hits() + ", misses: " + cache.misses());
+            if (preprocess)
+                System.out.println("Preprocessing removed " + pipeline.selfLoopsRemoved() + " self-loops and "
+                        + pipeline.parallelEdgesRemoved() + " parallel edges");
+            for (Algorithm a : algorithms) {
+                LatencyHistogram h = Profile.histograms().get(a.label());
+                if (h != null)
+                    System.out.printf(Locale.US, "%-14s n=%d p50=%.3f ms p90=%.3f ms p99=%.3f ms max=%.3f ms%n", a.label(),
+                            h.count(), h.percentileMs(50), h.percentileMs(90), h.percentileMs(99), h.maxMs());
+            }
             System.out.println("Output saved to " + outputJson);
             System.out.println("Metrics saved to " + csvPath);
 
@@ -0,0 +1,63 @@
+package algorithms;
+
+import graph.EdgeList;
+import graph.Graph;
+import metrics.*;
+
+import java.util.function.Function;
+
+/** MST implementations that can be selected by name, e.g. from the command line or a benchmark. */
+public enum Algorithm {
+    PRIM("Prim", true, true, Prim::run),
+    PRIM_EAGER("PrimEager", true, true, Prim::runEager),
+    PRIM_FOREST("PrimForest", true, true, Prim::runForest),
+    PRIM_DENSE("PrimDense", true, true, Prim::runDense),
+    KRUSKAL("Kruskal", true, false, Kruskal::run),
+    KRUSKAL_FOREST("KruskalForest", true, false, Kruskal::runForest),
+    KRUSKAL_EXTERNAL("KruskalExternal", true, false, ExternalKruskal::run),
+    FILTER_KRUSKAL("FilterKruskal", false, false, FilterKruskal::run),
+    BORUVKA("Boruvka", false, false, graph -> Boruvka.run(graph.getCompact(), Boruvka.pool()));
+
+    private final String label;
+    private final boolean readsEdgeList;
+    private final boolean usesAdjacency;
+    private final Function<Graph, Metrics> runner;
+
+    Algorithm(String label, boolean readsEdgeList, boolean usesAdjacency, Function<Graph, Metrics> runner) {
+        this.label = label;
+        this.readsEdgeList = readsEdgeList;
+        this.usesAdjacency = usesAdjacency;
+        this.runner = runner;
+    }
+
+    public String label() { return label; }
+
+    /**
+     * Runs the algorithm. The index-based form it reads ({@link Graph#getEdgeList()},
+     * which leaves a mapped graph in place, or the heap copy for algorithms that need
+     * the arrays) and, for algorithms that walk neighbours, the CSR adjacency are built
+     * first, outside the algorithm's own timer; with
+     * instrumentation on that time is recorded as the adjacency phase (zero when an
+     * earlier run on the same graph already built them) and the wall time of the whole
+     * call goes into this algorithm's latency histogram.
+     */
+    public Metrics run(Graph graph) {
+        long start = System.nanoTime();
+        EdgeList edges = readsEdgeList ? graph.getEdgeList() : graph.getCompact();
+        if (usesAdjacency) edges.adjacency();
+        if (!Profile.ENABLED) return runner.apply(graph);
+        long built = System.nanoTime();
+        Metrics metrics = runner.apply(graph);
+        metrics.getProfile().addNanos(Phase.ADJACENCY, built - start);
+        Profile.histogram(label).record(System.nanoTime() - start);
+        return metrics;
+    }
+
+    /** Looks an algorithm up by its label or enum name, ignoring case. */
+    public static Algorithm fromName(String name) {
+        for (Algorithm a : values()) {
+            if (a.label.equalsIgnoreCase(name) || a.name().equalsIgnoreCase(name)) return a;
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+}
@@ -0,0 +1,205 @@
+package algorithms;
+
+import graph.*;
+import metrics.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel Borůvka. Each round scans the live edges on a ForkJoinPool to find the
+ * cheapest edge leaving every component, then contracts along those edges with a
+ * concurrent union-find. Ties are broken by edge index so every component agrees
+ * on a single total order and no cycle can be formed.
+ */
+public class Boruvka {
+    /** Threads of the shared pool, -Dmst.boruvkaParallelism (default: the CPU count). */
+    public static final int DEFAULT_PARALLELISM =
+            Integer.getInteger("mst.boruvkaParallelism", Runtime.getRuntime().availableProcessors());
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    /** Runs on the shared pool, so concurrent pipeline workers split its threads instead of each starting their own. */
+    public static Metrics run(Graph graph) {
+        return run(graph.getCompact(), pool());
+    }
+
+    /** The pool every {@link #run(Graph)} shares: DEFAULT_PARALLELISM threads, created on first use. */
+    public static ForkJoinPool pool() {
+        return SharedPool.POOL;
+    }
+
+    /** Runs on a pool of its own with the given parallelism, started and shut down for this call. */
+    public static Metrics run(CompactGraph graph, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return run(graph, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static Metrics run(CompactGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+
+        ConcurrentDisjointSet ds = new ConcurrentDisjointSet(n);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) cheapest.set(v, -1);
+        boolean[] inMst = new boolean[m];
+        boolean[] alive = new boolean[m];
+        AtomicLong operations = new AtomicLong();
+
+        int[] live = new int[m];
+        for (int e = 0; e < m; e++) live[e] = e;
+        int liveCount = m;
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) roots[v] = v;
+        int rootCount = n;
+
+        List<Edge> mstEdges = new ArrayList<>();
+        double totalCost = 0;
+        long unions = 0;
+
+        long startTime = System.nanoTime();
+
+        while (liveCount > 0 && mstEdges.size() < n - 1) {
+            pool.invoke(new CheapestTask(graph, ds, cheapest, alive, live, 0, liveCount, operations));
+
+            int[] chosen = new int[rootCount];
+            int chosenCount = 0;
+            for (int i = 0; i < rootCount; i++) {
+                int e = cheapest.getAndSet(roots[i], -1);
+                if (e >= 0) chosen[chosenCount++] = e;
+            }
+            if (chosenCount == 0) break;
+
+            pool.invoke(new ContractTask(graph, ds, inMst, chosen, 0, chosenCount));
+
+            for (int i = 0; i < chosenCount; i++) {
+                int e = chosen[i];
+                if (inMst[e]) {
+                    inMst[e] = false;
+                    mstEdges.add(graph.toEdge(e));
+                    totalCost += graph.weight(e);
+                    unions++;
+                }
+            }
+
+            int kept = 0;
+            for (int i = 0; i < liveCount; i++) if (alive[live[i]]) live[kept++] = live[i];
+            liveCount = kept;
+
+            int nextRoots = 0;
+            for (int i = 0; i < rootCount; i++) if (ds.find(roots[i]) == roots[i]) roots[nextRoots++] = roots[i];
+            rootCount = nextRoots;
+        }
+
+        long endTime = System.nanoTime();
+        double timeMs = (endTime - startTime) / 1_000_000.0;
+
+        boolean connected = mstEdges.size() == n - 1;
+
+        Metrics metrics = new Metrics("Boruvka", graph.getId(), n, m,
+                totalCost, operations.get(), timeMs, connected, mstEdges);
+        metrics.setUnionFindCounts(2 * operations.get(), unions);
+        metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - startTime);
+        return metrics;
+    }
+
+    /** True if edge a is strictly cheaper than edge b in the (weight, index) order. */
+    private static boolean lighter(CompactGraph graph, int a, int b) {
+        if (b < 0) return true;
+        int c = Double.compare(graph.weight(a), graph.weight(b));
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    private static void offer(CompactGraph graph, AtomicIntegerArray cheapest, int root, int e) {
+        while (true) {
+            int current = cheapest.get(root);
+            if (!lighter(graph, e, current)) return;
+            if (cheapest.compareAndSet(root, current, e)) return;
+        }
+    }
+
+    private static class CheapestTask extends RecursiveAction {
+        private final CompactGraph graph;
+        private final ConcurrentDisjointSet ds;
+        private final AtomicIntegerArray cheapest;
+        private final boolean[] alive;
+        private final int[] live;
+        private final int lo, hi;
+        private final AtomicLong operations;
+
+        CheapestTask(CompactGraph graph, ConcurrentDisjointSet ds, AtomicIntegerArray cheapest,
+                     boolean[] alive, int[] live, int lo, int hi, AtomicLong operations) {
+            this.graph = graph;
+            this.ds = ds;
+            this.cheapest = cheapest;
+            this.alive = alive;
+            this.live = live;
+            this.lo = lo;
+            this.hi = hi;
+            this.operations = operations;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > SEQUENTIAL_THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new CheapestTask(graph, ds, cheapest, alive, live, lo, mid, operations),
+                        new CheapestTask(graph, ds, cheapest, alive, live, mid, hi, operations));
+                return;
+            }
+            for (int i = lo; i < hi; i++) {
+                int e = live[i];
+                int ru = ds.find(graph.from(e));
+                int rv = ds.find(graph.to(e));
+                if (ru == rv) {
+                    alive[e] = false;
+                    continue;
+                }
+                alive[e] = true;
+                offer(graph, cheapest, ru, e);
+                offer(graph, cheapest, rv, e);
+            }
+            operations.addAndGet(hi - lo);
+        }
+    }
+
+    private static class ContractTask extends RecursiveAction {
+        private final CompactGraph graph;
+        private final ConcurrentDisjointSet ds;
+        private final boolean[] inMst;
+        private final int[] chosen;
+        private final int lo, hi;
+
+        ContractTask(CompactGraph graph, ConcurrentDisjointSet ds, boolean[] inMst, int[] chosen, int lo, int hi) {
+            this.graph = graph;
+            this.ds = ds;
+            this.inMst = inMst;
+            this.chosen = chosen;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > SEQUENTIAL_THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ContractTask(graph, ds, inMst, chosen, lo, mid),
+                        new ContractTask(graph, ds, inMst, chosen, mid, hi));
+                return;
+            }
+            for (int i = lo; i < hi; i++) {
+                int e = chosen[i];
+                if (ds.union(graph.from(e), graph.to(e))) inMst[e] = true;
+            }
+        }
+    }
+
+    private static final class SharedPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(DEFAULT_PARALLELISM);
+    }
+}
@@ -0,0 +1,53 @@
+package algorithms;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find for use from several threads at once. Roots are linked
+ * towards the larger id with a CAS, which keeps the parent forest acyclic without
+ * ranks; find compacts paths by halving.
+ */
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    /** Merges the sets of a and b; returns true only for the call that actually linked them. */
+    public boolean union(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return false;
+            if (ra > rb) {
+                int t = ra;
+                ra = rb;
+                rb = t;
+            }
+            if (parent.compareAndSet(ra, ra, rb)) return true;
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return true;
+            if (parent.get(ra) == ra) return false;
+        }
+    }
+
+    public int size() { return parent.length(); }
+}
@@ -0,0 +1,54 @@
+package algorithms;
+
+/**
+ * The two inner loops of {@link Prim#runDense}: the minimum scan over the packed keys
+ * of the remaining vertices and the relaxation of one CSR row. This class is the
+ * scalar version. When the build includes the {@code vector} profile and the JVM runs
+ * with {@code --add-modules jdk.incubator.vector}, {@link #DEFAULT} is the Vector API
+ * subclass instead; -Dmst.denseVector=false keeps the scalar loops.
+ */
+class DenseScan {
+    static final DenseScan SCALAR = new DenseScan();
+    /** Vector API implementation, or null when the module or the class is missing. */
+    static final DenseScan VECTOR = loadVector();
+    static final DenseScan DEFAULT =
+            VECTOR != null && Boolean.parseBoolean(System.getProperty("mst.denseVector", "true")) ? VECTOR : SCALAR;
+
+    /** Slot of the smallest of key[0..remaining), the lowest slot on ties; remaining must be positive. */
+    int argMin(double[] key, int remaining) {
+        int best = 0;
+        double min = key[0];
+        for (int i = 1; i < remaining; i++) {
+            if (key[i] < min) {
+                min = key[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lowers the key of every remaining neighbour in CSR slots lo..hi-1 whose edge is
+     * lighter than its current key, and records that edge as its best. Slots at or past
+     * {@code remaining} hold -infinity, so a comparison alone already rejects them.
+     */
+    void relax(int[] targets, double[] adjWeights, int[] adjEdges, int lo, int hi,
+               int[] slotOf, int remaining, double[] key, int[] bestEdge) {
+        for (int s = lo; s < hi; s++) {
+            int slot = slotOf[targets[s]];
+            if (slot < remaining && adjWeights[s] < key[slot]) {
+                key[slot] = adjWeights[s];
+                bestEdge[targets[s]] = adjEdges[s];
+            }
+        }
+    }
+
+    private static DenseScan loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            return (DenseScan) Class.forName("algorithms.VectorDenseScan").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
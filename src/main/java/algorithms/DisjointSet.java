@@ -0,0 +1,74 @@
+package algorithms;
+
+import metrics.Profile;
+
+/**
+ * Union-find over vertex ids 0..n-1 with union by rank and iterative path halving.
+ * Counts find and successful union calls, and path-halving steps while
+ * instrumentation is on, so callers can report them.
+ */
+public class DisjointSet {
+    private final int[] parent;
+    private final byte[] rank;
+    private int components;
+    private long finds;
+    private long unions;
+    private long compressions;
+
+    public DisjointSet(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        components = n;
+    }
+
+    public int find(int x) {
+        finds++;
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+            if (Profile.ENABLED) compressions++;
+        }
+        return x;
+    }
+
+    /**
+     * Finds the root without compressing or counting. Safe to call from several
+     * threads at once as long as no union runs concurrently.
+     */
+    public int root(int x) {
+        while (parent[x] != x) x = parent[x];
+        return x;
+    }
+
+    /** Merges the sets of a and b; returns false if they were already connected. */
+    public boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return false;
+        link(ra, rb);
+        return true;
+    }
+
+    /** Links two distinct roots, as returned by {@link #find}. */
+    public void link(int ra, int rb) {
+        if (rank[ra] < rank[rb]) {
+            parent[ra] = rb;
+        } else if (rank[ra] > rank[rb]) {
+            parent[rb] = ra;
+        } else {
+            parent[rb] = ra;
+            rank[ra]++;
+        }
+        components--;
+        unions++;
+    }
+
+    public boolean connected(int a, int b) { return find(a) == find(b); }
+
+    public int size() { return parent.length; }
+    public int components() { return components; }
+    public long finds() { return finds; }
+    public long unions() { return unions; }
+    public long compressions() { return compressions; }
+}
@@ -0,0 +1,418 @@
+package algorithms;
+
+import graph.*;
+import metrics.Metrics;
+import java.util.*;
+
+/**
+ * Minimum spanning forest that is kept up to date under edge insertions, deletions
+ * and weight changes instead of being recomputed. Edges are identified by their
+ * unordered vertex pair; parallel edges in the initial graph are collapsed to the
+ * lightest one and deleting a pair removes it entirely.
+ *
+ * <ul>
+ *   <li>Insert or lighter non-tree edge: the heaviest edge on the tree path between
+ *       the endpoints is swapped out if it is heavier (cycle property).</li>
+ *   <li>Delete or heavier tree edge: the tree is split, and the lightest edge across
+ *       the cut is found by scanning the adjacency of the smaller side.</li>
+ * </ul>
+ * Both cost O(V + deg) per update rather than O(E log E) for a fresh run.
+ *
+ * <p>Vertices keep the ids of the graph's {@link CompactGraph}; vertices added later
+ * are numbered after them. Edges live in parallel arrays indexed by edge id, and each
+ * vertex has two intrusive doubly linked lists of edge halves (half 2e is edge e seen
+ * from its first endpoint, 2e+1 from its second): one over all its edges and one over
+ * its tree edges. A pair is looked up by walking the shorter of its endpoints' lists.
+ * The BFS scratch arrays are reused across updates and reset by bumping a stamp.
+ */
+public class DynamicMST {
+    private final int graphId;
+    private final SymbolTable index = new SymbolTable();
+    private int vertexCount;
+    private int edgeCount;
+    private int treeEdgeCount;
+    private long operations;
+    private long nanos;
+
+    // Per vertex.
+    private int[] head = new int[0];
+    private int[] treeHead = new int[0];
+    private int[] degree = new int[0];
+
+    // Per edge id; freed ids are chained through edgeFrom.
+    private int[] edgeFrom = new int[0];
+    private int[] edgeTo = new int[0];
+    private double[] weight = new double[0];
+    private boolean[] inTree = new boolean[0];
+    private int edgeSlots;
+    private int freeEdge = -1;
+
+    // Per edge half.
+    private int[] next = new int[0];
+    private int[] prev = new int[0];
+    private int[] treeNext = new int[0];
+    private int[] treePrev = new int[0];
+
+    // BFS scratch, sized to the vertex capacity.
+    private int[] mark = new int[0];
+    private int[] parentEdge = new int[0];
+    private int[] queueA = new int[0];
+    private int[] queueB = new int[0];
+    private int stamp;
+
+    /** Starts from the minimum spanning forest that {@link Prim#runForest} computes for the graph. */
+    public DynamicMST(Graph graph) {
+        this(graph, Prim.runForest(graph));
+    }
+
+    /** Starts from an existing MST (or forest) of the graph, e.g. the result of Prim.runForest or Kruskal.run. */
+    public DynamicMST(Graph graph, Metrics mst) {
+        long start = System.nanoTime();
+        this.graphId = graph.getId();
+        CompactGraph g = graph.getCompact();
+        int n = g.vertexCount();
+        ensureVertexCapacity(n);
+        ensureEdgeCapacity(g.edgeCount());
+        for (int v = 0; v < n; v++) {
+            if (vertex(g.name(v)) != v) throw new IllegalArgumentException("Duplicate vertex " + g.name(v) + " in graph " + graphId);
+        }
+
+        // Each pair is added once, from its lower endpoint; seen/pairEdge spot its parallel copies.
+        Adjacency adjacency = g.adjacency();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        double[] adjWeights = adjacency.getWeights();
+        int[] seen = mark;
+        int[] pairEdge = parentEdge;
+        Arrays.fill(seen, 0, n, -1);
+        for (int u = 0; u < n; u++) {
+            for (int s = offsets[u]; s < offsets[u + 1]; s++) {
+                int v = targets[s];
+                if (v <= u) continue;
+                if (seen[v] == u) {
+                    int e = pairEdge[v];
+                    if (adjWeights[s] < weight[e]) weight[e] = adjWeights[s];
+                } else {
+                    seen[v] = u;
+                    pairEdge[v] = addEdge(u, v, adjWeights[s]);
+                }
+            }
+        }
+        Arrays.fill(seen, 0, n, 0);
+
+        for (Edge e : mst.getMstEdges()) {
+            int u = index.lookup(e.getFrom()), v = index.lookup(e.getTo());
+            int id = u < 0 || v < 0 ? -1 : find(u, v);
+            if (id < 0) throw new IllegalArgumentException("Tree edge " + e + " is not in graph " + graphId);
+            if (!inTree[id]) link(id);
+        }
+        nanos += System.nanoTime() - start;
+    }
+
+    /** Adds an edge between two vertices, creating vertices that are not known yet. */
+    public void insertEdge(String from, String to, double weight) {
+        long start = System.nanoTime();
+        int u = vertex(from), v = vertex(to);
+        if (u != v) {
+            int e = find(u, v);
+            if (e < 0) {
+                offerNonTreeEdge(addEdge(u, v, weight));
+            } else if (weight < this.weight[e]) {
+                setWeight(e, weight);
+            }
+        }
+        nanos += System.nanoTime() - start;
+    }
+
+    public void deleteEdge(String from, String to) {
+        long start = System.nanoTime();
+        int e = require(from, to);
+        int u = edgeFrom[e], v = edgeTo[e];
+        boolean tree = inTree[e];
+        if (tree) unlink(e);
+        removeEdge(e);
+        if (tree) reconnect(u, v);
+        nanos += System.nanoTime() - start;
+    }
+
+    public void updateWeight(String from, String to, double weight) {
+        long start = System.nanoTime();
+        setWeight(require(from, to), weight);
+        nanos += System.nanoTime() - start;
+    }
+
+    private void setWeight(int e, double w) {
+        double current = weight[e];
+        weight[e] = w;
+        if (inTree[e]) {
+            if (w > current) {
+                unlink(e);
+                reconnect(edgeFrom[e], edgeTo[e]);
+            }
+        } else if (w < current) {
+            offerNonTreeEdge(e);
+        }
+    }
+
+    /** Adds edge e to the forest if it joins two trees or beats the heaviest edge on the cycle it closes. */
+    private void offerNonTreeEdge(int e) {
+        int u = edgeFrom[e], v = edgeTo[e];
+        if (!treePath(u, v)) {
+            link(e);
+            return;
+        }
+        int maxEdge = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int x = v; x != u; ) {
+            int p = parentEdge[x];
+            if (weight[p] > max) {
+                max = weight[p];
+                maxEdge = p;
+            }
+            x = other(p, x);
+        }
+        if (weight[e] < max) {
+            unlink(maxEdge);
+            link(e);
+        }
+    }
+
+    /**
+     * After removing the tree edge between u and v, finds the lightest edge across the
+     * cut and adds it. Grows both sides in lock-step and scans the side that is
+     * exhausted first; every vertex of that side carries its stamp, so anything else
+     * is on the other side.
+     */
+    private void reconnect(int u, int v) {
+        int stampA = nextStamp(), stampB = nextStamp();
+        mark[u] = stampA;
+        mark[v] = stampB;
+        queueA[0] = u;
+        queueB[0] = v;
+        int headA = 0, tailA = 1, headB = 0, tailB = 1;
+        int[] smaller;
+        int size, smallStamp;
+        while (true) {
+            if (headA == tailA) {
+                smaller = queueA;
+                size = tailA;
+                smallStamp = stampA;
+                break;
+            }
+            tailA = grow(queueA[headA++], queueA, tailA, stampA);
+            if (headB == tailB) {
+                smaller = queueB;
+                size = tailB;
+                smallStamp = stampB;
+                break;
+            }
+            tailB = grow(queueB[headB++], queueB, tailB, stampB);
+        }
+
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            int x = smaller[i];
+            for (int h = head[x]; h >= 0; h = next[h]) {
+                operations++;
+                int e = h >>> 1;
+                if (mark[other(e, x)] != smallStamp && (best < 0 || weight[e] < weight[best])) best = e;
+            }
+        }
+        if (best >= 0) link(best);
+    }
+
+    /** Expands one BFS step from x; returns the new queue tail. */
+    private int grow(int x, int[] queue, int tail, int side) {
+        for (int h = treeHead[x]; h >= 0; h = treeNext[h]) {
+            operations++;
+            int y = other(h >>> 1, x);
+            if (mark[y] != side) {
+                mark[y] = side;
+                queue[tail++] = y;
+            }
+        }
+        return tail;
+    }
+
+    /** BFS over the forest from u; if v is reachable, parentEdge leads from v back to u. */
+    private boolean treePath(int u, int v) {
+        int seen = nextStamp();
+        mark[u] = seen;
+        queueA[0] = u;
+        int headQ = 0, tailQ = 1;
+        while (headQ < tailQ) {
+            int x = queueA[headQ++];
+            if (x == v) return true;
+            for (int h = treeHead[x]; h >= 0; h = treeNext[h]) {
+                operations++;
+                int e = h >>> 1;
+                int y = other(e, x);
+                if (mark[y] != seen) {
+                    mark[y] = seen;
+                    parentEdge[y] = e;
+                    queueA[tailQ++] = y;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Edge id of the pair, found by walking the shorter adjacency list, or -1. */
+    private int find(int u, int v) {
+        if (degree[v] < degree[u]) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        for (int h = head[u]; h >= 0; h = next[h]) {
+            if (other(h >>> 1, u) == v) return h >>> 1;
+        }
+        return -1;
+    }
+
+    private int other(int e, int x) {
+        return edgeFrom[e] == x ? edgeTo[e] : edgeFrom[e];
+    }
+
+    private int addEdge(int u, int v, double w) {
+        int e;
+        if (freeEdge >= 0) {
+            e = freeEdge;
+            freeEdge = edgeFrom[e];
+        } else {
+            ensureEdgeCapacity(edgeSlots + 1);
+            e = edgeSlots++;
+        }
+        edgeFrom[e] = u;
+        edgeTo[e] = v;
+        weight[e] = w;
+        inTree[e] = false;
+        head[u] = push(head[u], 2 * e, next, prev);
+        head[v] = push(head[v], 2 * e + 1, next, prev);
+        degree[u]++;
+        degree[v]++;
+        edgeCount++;
+        return e;
+    }
+
+    private void removeEdge(int e) {
+        int u = edgeFrom[e], v = edgeTo[e];
+        head[u] = remove(head[u], 2 * e, next, prev);
+        head[v] = remove(head[v], 2 * e + 1, next, prev);
+        degree[u]--;
+        degree[v]--;
+        edgeCount--;
+        edgeFrom[e] = freeEdge;
+        freeEdge = e;
+    }
+
+    private void link(int e) {
+        inTree[e] = true;
+        treeHead[edgeFrom[e]] = push(treeHead[edgeFrom[e]], 2 * e, treeNext, treePrev);
+        treeHead[edgeTo[e]] = push(treeHead[edgeTo[e]], 2 * e + 1, treeNext, treePrev);
+        treeEdgeCount++;
+    }
+
+    private void unlink(int e) {
+        inTree[e] = false;
+        treeHead[edgeFrom[e]] = remove(treeHead[edgeFrom[e]], 2 * e, treeNext, treePrev);
+        treeHead[edgeTo[e]] = remove(treeHead[edgeTo[e]], 2 * e + 1, treeNext, treePrev);
+        treeEdgeCount--;
+    }
+
+    /** Puts half h at the front of a list and returns the new head. */
+    private static int push(int first, int h, int[] next, int[] prev) {
+        next[h] = first;
+        prev[h] = -1;
+        if (first >= 0) prev[first] = h;
+        return h;
+    }
+
+    /** Takes half h out of a list and returns the new head. */
+    private static int remove(int first, int h, int[] next, int[] prev) {
+        if (next[h] >= 0) prev[next[h]] = prev[h];
+        if (prev[h] >= 0) {
+            next[prev[h]] = next[h];
+            return first;
+        }
+        return next[h];
+    }
+
+    private int nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 0;
+        }
+        return ++stamp;
+    }
+
+    private int vertex(String name) {
+        int id = index.intern(name);
+        if (id == vertexCount) {
+            ensureVertexCapacity(id + 1);
+            head[id] = -1;
+            treeHead[id] = -1;
+            vertexCount++;
+        }
+        return id;
+    }
+
+    private int require(String from, String to) {
+        int u = index.lookup(from), v = index.lookup(to);
+        if (u < 0) throw new IllegalArgumentException("Unknown vertex " + from);
+        if (v < 0) throw new IllegalArgumentException("Unknown vertex " + to);
+        int e = u == v ? -1 : find(u, v);
+        if (e < 0) throw new IllegalArgumentException("No edge " + from + " - " + to);
+        return e;
+    }
+
+    private void ensureVertexCapacity(int n) {
+        if (n <= head.length) return;
+        int capacity = Math.max(n, head.length * 2);
+        head = Arrays.copyOf(head, capacity);
+        treeHead = Arrays.copyOf(treeHead, capacity);
+        degree = Arrays.copyOf(degree, capacity);
+        mark = Arrays.copyOf(mark, capacity);
+        parentEdge = Arrays.copyOf(parentEdge, capacity);
+        queueA = Arrays.copyOf(queueA, capacity);
+        queueB = Arrays.copyOf(queueB, capacity);
+    }
+
+    private void ensureEdgeCapacity(int m) {
+        if (m <= edgeFrom.length) return;
+        int capacity = Math.max(m, edgeFrom.length * 2);
+        edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+        edgeTo = Arrays.copyOf(edgeTo, capacity);
+        weight = Arrays.copyOf(weight, capacity);
+        inTree = Arrays.copyOf(inTree, capacity);
+        next = Arrays.copyOf(next, 2 * capacity);
+        prev = Arrays.copyOf(prev, 2 * capacity);
+        treeNext = Arrays.copyOf(treeNext, 2 * capacity);
+        treePrev = Arrays.copyOf(treePrev, 2 * capacity);
+    }
+
+    public double getTotalCost() {
+        double total = 0;
+        for (int e = 0; e < edgeSlots; e++) if (inTree[e]) total += weight[e];
+        return total;
+    }
+
+    public List<Edge> getMstEdges() {
+        List<Edge> edges = new ArrayList<>(treeEdgeCount);
+        for (int e = 0; e < edgeSlots; e++) {
+            if (inTree[e]) edges.add(new Edge(index.name(edgeFrom[e]), index.name(edgeTo[e]), weight[e]));
+        }
+        return edges;
+    }
+
+    public boolean isConnected() { return treeEdgeCount == vertexCount - 1; }
+    public long getOperations() { return operations; }
+
+    /** Time spent building the structure and applying updates so far. */
+    public double getExecutionTimeMs() { return nanos / 1_000_000.0; }
+
+    public Metrics toMetrics() {
+        return new Metrics("Dynamic", graphId, vertexCount, edgeCount,
+                getTotalCost(), operations, getExecutionTimeMs(), isConnected(), getMstEdges());
+    }
+}
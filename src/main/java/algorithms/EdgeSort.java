@@ -0,0 +1,128 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Sorts edge indices by (weight, index) using packed primitive long keys instead
+ * of Comparable objects. When every weight in the range is exactly representable
+ * as a float its order-preserving bits form the high word; otherwise the weights
+ * are first replaced by their rank among the distinct values in the range.
+ * {@link SortMethod#RADIX} instead radix-sorts the 64-bit weight keys directly.
+ */
+final class EdgeSort {
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private EdgeSort() {}
+
+    static void sort(int[] edges, int lo, int hi, double[] weight) {
+        sort(edges, lo, hi, weight, SortMethod.PARALLEL, PARALLEL_THRESHOLD);
+    }
+
+    static void sort(int[] edges, int lo, int hi, double[] weight, SortMethod method, int parallelThreshold) {
+        if (method == SortMethod.RADIX) {
+            radixSort(edges, lo, hi, weight);
+            return;
+        }
+        int len = hi - lo;
+        long[] keys = new long[len];
+        boolean floatExact = true;
+        for (int i = lo; i < hi && floatExact; i++) {
+            double w = weight[edges[i]];
+            floatExact = (double) (float) w == w;
+        }
+
+        if (floatExact) {
+            for (int i = 0; i < len; i++) {
+                int e = edges[lo + i];
+                keys[i] = pack(floatKey((float) weight[e]), e);
+            }
+        } else {
+            double[] distinct = new double[len];
+            for (int i = 0; i < len; i++) distinct[i] = weight[edges[lo + i]];
+            sortKeys(distinct, parallelThreshold);
+            int unique = 0;
+            for (int i = 0; i < len; i++) {
+                if (unique == 0 || Double.compare(distinct[unique - 1], distinct[i]) != 0) distinct[unique++] = distinct[i];
+            }
+            for (int i = 0; i < len; i++) {
+                int e = edges[lo + i];
+                keys[i] = pack(Arrays.binarySearch(distinct, 0, unique, weight[e]), e);
+            }
+        }
+
+        sortKeys(keys, parallelThreshold);
+        for (int i = 0; i < len; i++) edges[lo + i] = (int) keys[i];
+    }
+
+    /** Maps float bits to an int whose signed order matches the float order. */
+    static int floatKey(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    static long pack(int high, int edge) {
+        return ((long) high << 32) | (edge & 0xffffffffL);
+    }
+
+    /**
+     * Stable LSD radix sort of edges by weight. Keys are the weights' IEEE-754 bits
+     * mapped to unsigned order; all eight byte histograms are built in one pass and
+     * bytes that are equal in every key (e.g. the low mantissa of integral weights)
+     * are skipped. Ties keep their input order.
+     */
+    static void radixSort(int[] edges, int lo, int hi, double[] weight) {
+        int len = hi - lo;
+        if (len < 2) return;
+        long[] keys = new long[len];
+        long[] keyBuffer = new long[len];
+        int[] values = new int[len];
+        int[] valueBuffer = new int[len];
+        int[][] counts = new int[8][256];
+        for (int i = 0; i < len; i++) {
+            int e = edges[lo + i];
+            long key = doubleKey(weight[e]) ^ Long.MIN_VALUE;
+            keys[i] = key;
+            values[i] = e;
+            for (int b = 0; b < 8; b++) counts[b][(int) (key >>> (8 * b)) & 0xff]++;
+        }
+
+        for (int b = 0; b < 8; b++) {
+            int[] count = counts[b];
+            int shift = 8 * b;
+            if (count[(int) (keys[0] >>> shift) & 0xff] == len) continue;
+            for (int d = 0, sum = 0; d < 256; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < len; i++) {
+                int at = count[(int) (keys[i] >>> shift) & 0xff]++;
+                keyBuffer[at] = keys[i];
+                valueBuffer[at] = values[i];
+            }
+            long[] k = keys;
+            keys = keyBuffer;
+            keyBuffer = k;
+            int[] v = values;
+            values = valueBuffer;
+            valueBuffer = v;
+        }
+        System.arraycopy(values, 0, edges, lo, len);
+    }
+
+    /** Maps double bits to a long whose signed order matches Double.compare. */
+    static long doubleKey(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ ((bits >> 63) & 0x7fffffffffffffffL);
+    }
+
+    private static void sortKeys(long[] keys, int parallelThreshold) {
+        if (keys.length >= parallelThreshold) Arrays.parallelSort(keys);
+        else Arrays.sort(keys);
+    }
+
+    private static void sortKeys(double[] keys, int parallelThreshold) {
+        if (keys.length >= parallelThreshold) Arrays.parallelSort(keys);
+        else Arrays.sort(keys);
+    }
+}
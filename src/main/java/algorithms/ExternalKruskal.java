@@ -0,0 +1,304 @@
+package algorithms;
+
+import graph.*;
+import metrics.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Out-of-core Kruskal for edge sets that do not fit in the heap. Edges are streamed
+ * into a fixed-size buffer; each full buffer is sorted and spilled to a temp file as
+ * a run, and the runs are then k-way merged through a small heap straight into the
+ * union-find, so memory is O(runEdges + V + runs) however many edges there are.
+ * Edges are ordered by (weight, input index) exactly like {@link Kruskal}, which makes
+ * the tree, cost, operation and union-find counts identical to the in-memory path.
+ * If everything fits in one run nothing is written to disk.
+ *
+ * <p>Run size and temp directory default to -Dmst.externalRunEdges (1M edges, about
+ * 28 bytes each while buffered) and -Dmst.externalTempDir (java.io.tmpdir).
+ */
+public class ExternalKruskal {
+    public static final int DEFAULT_RUN_EDGES = Integer.getInteger("mst.externalRunEdges", 1 << 20);
+    public static final String DEFAULT_TEMP_DIR = System.getProperty("mst.externalTempDir", System.getProperty("java.io.tmpdir"));
+
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+
+    /** Pushes every edge of a graph, in index order, into a sink; e.g. {@code GraphGenerator::generate}. */
+    @FunctionalInterface
+    public interface EdgeSource {
+        void emit(EdgeSink sink) throws IOException;
+    }
+
+    private final int runEdges;
+    private final Path tempDir;
+    private int runsWritten;
+
+    public ExternalKruskal() {
+        this(DEFAULT_RUN_EDGES, Paths.get(DEFAULT_TEMP_DIR));
+    }
+
+    public ExternalKruskal(int runEdges, Path tempDir) {
+        if (runEdges < 1) throw new IllegalArgumentException("runEdges must be positive");
+        this.runEdges = runEdges;
+        this.tempDir = tempDir;
+    }
+
+    /** Entry point for {@link Algorithm}: default run size and temp directory. */
+    public static Metrics run(Graph graph) {
+        try {
+            return new ExternalKruskal().run(graph.getEdgeList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Streams the edges through the accessors, so a mapped graph is never copied to the heap. */
+    public Metrics run(EdgeList graph) throws IOException {
+        return run(graph.getId(), graph.vertexCount(), graph::name, sink -> {
+            for (int e = 0; e < graph.edgeCount(); e++) sink.edge(graph.from(e), graph.to(e), graph.weight(e));
+        });
+    }
+
+    /**
+     * @param names only looked up for the tree edges, so it may decode names lazily
+     * @param edges emits every edge once; the emission order breaks weight ties
+     */
+    public Metrics run(int graphId, int vertexCount, IntFunction<String> names, EdgeSource edges) throws IOException {
+        int n = vertexCount;
+        long startTime = System.nanoTime();
+        Runs runs = new Runs();
+        try {
+            edges.emit(runs);
+            long sorted;
+            DisjointSet ds = new DisjointSet(n);
+            int[] treeFrom = new int[Math.max(0, n - 1)], treeTo = new int[Math.max(0, n - 1)];
+            double[] treeWeight = new double[Math.max(0, n - 1)];
+            int treeSize = 0;
+            double totalCost = 0;
+            long operations = 0;
+
+            try (EdgeStream stream = runs.finish()) {
+                sorted = System.nanoTime();
+                while (stream.next()) {
+                    if (treeSize == n - 1) break;
+                    int root1 = ds.find(stream.from);
+                    int root2 = ds.find(stream.to);
+                    operations++;
+                    if (root1 != root2) {
+                        treeFrom[treeSize] = stream.from;
+                        treeTo[treeSize] = stream.to;
+                        treeWeight[treeSize++] = stream.weight;
+                        totalCost += stream.weight;
+                        ds.link(root1, root2);
+                    }
+                }
+            }
+
+            long endTime = System.nanoTime();
+            double timeMs = (endTime - startTime) / 1_000_000.0;
+
+            List<Edge> mstEdges = new ArrayList<>(treeSize);
+            for (int i = 0; i < treeSize; i++) mstEdges.add(new Edge(names.apply(treeFrom[i]), names.apply(treeTo[i]), treeWeight[i]));
+            // Metrics holds an int edge count; beyond that the figure saturates.
+            Metrics metrics = new Metrics(Algorithm.KRUSKAL_EXTERNAL.label(), graphId, n, (int) Math.min(runs.count, Integer.MAX_VALUE),
+                    totalCost, operations, timeMs, treeSize == n - 1, mstEdges);
+            metrics.setUnionFindCounts(ds.finds(), ds.unions());
+            metrics.getProfile().addNanos(Phase.SORT, sorted - startTime);
+            metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - sorted);
+            metrics.getProfile().add(Counter.PATH_COMPRESSIONS, ds.compressions());
+            return metrics;
+        } finally {
+            runs.delete();
+        }
+    }
+
+    /** Number of runs spilled to disk by the last {@link #run} call on this instance. */
+    public int runsWritten() { return runsWritten; }
+
+    /** Collects edges, spilling each full buffer as a sorted run. Buffers grow up to runEdges. */
+    private final class Runs implements EdgeSink {
+        double[] weight = new double[Math.min(runEdges, 1024)];
+        int[] from = new int[weight.length];
+        int[] to = new int[weight.length];
+        int[] order = new int[weight.length];
+        final List<Path> files = new ArrayList<>();
+        int size;
+        long count;
+
+        @Override
+        public void edge(int u, int v, double w) throws IOException {
+            if (size == runEdges) spill();
+            if (size == weight.length) {
+                int grown = (int) Math.min(runEdges, 2L * size);
+                weight = Arrays.copyOf(weight, grown);
+                from = Arrays.copyOf(from, grown);
+                to = Arrays.copyOf(to, grown);
+                order = new int[grown];
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size++] = w;
+            count++;
+        }
+
+        /** Positions 0..size-1 ordered by (weight, position), i.e. by (weight, input index). */
+        private void sortBuffer() {
+            for (int i = 0; i < size; i++) order[i] = i;
+            EdgeSort.sort(order, 0, size, weight, Kruskal.DEFAULT_SORT, Kruskal.DEFAULT_PARALLEL_THRESHOLD);
+        }
+
+        private void spill() throws IOException {
+            sortBuffer();
+            long base = count - size;
+            Path file = Files.createTempFile(tempDir, "kruskal-run-", ".bin");
+            files.add(file);
+            // Record: weight, input index, from, to.
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_BYTES))) {
+                for (int i = 0; i < size; i++) {
+                    int p = order[i];
+                    out.writeDouble(weight[p]);
+                    out.writeLong(base + p);
+                    out.writeInt(from[p]);
+                    out.writeInt(to[p]);
+                }
+            }
+            size = 0;
+        }
+
+        EdgeStream finish() throws IOException {
+            runsWritten = 0;
+            if (files.isEmpty()) {
+                sortBuffer();
+                return new MemoryRun(this);
+            }
+            if (size > 0) spill();
+            runsWritten = files.size();
+            return new MergedRuns(files);
+        }
+
+        void delete() {
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Could not delete run " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Edges in merged order; fields hold the current edge after {@link #next} returns true. */
+    private abstract static class EdgeStream implements Closeable {
+        int from, to;
+        double weight;
+
+        abstract boolean next() throws IOException;
+
+        @Override
+        public void close() throws IOException {}
+    }
+
+    private static final class MemoryRun extends EdgeStream {
+        private final Runs runs;
+        private int position;
+
+        MemoryRun(Runs runs) {
+            this.runs = runs;
+        }
+
+        @Override
+        boolean next() {
+            if (position == runs.size) return false;
+            int p = runs.order[position++];
+            from = runs.from[p];
+            to = runs.to[p];
+            weight = runs.weight[p];
+            return true;
+        }
+    }
+
+    /** K-way merge of sorted run files through a binary heap of run ids keyed by (weight, index). */
+    private static final class MergedRuns extends EdgeStream {
+        private final DataInputStream[] in;
+        private final long[] headKey, headIndex;
+        private final int[] headFrom, headTo;
+        private final double[] headWeight;
+        private final int[] heap;
+        private int heapSize;
+
+        MergedRuns(List<Path> files) throws IOException {
+            int k = files.size();
+            in = new DataInputStream[k];
+            headKey = new long[k];
+            headIndex = new long[k];
+            headFrom = new int[k];
+            headTo = new int[k];
+            headWeight = new double[k];
+            heap = new int[k];
+            try {
+                for (int r = 0; r < k; r++) {
+                    in[r] = new DataInputStream(new BufferedInputStream(Files.newInputStream(files.get(r)), IO_BUFFER_BYTES));
+                    if (advance(r)) heap[heapSize++] = r;
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) siftDown(i);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            if (heapSize == 0) return false;
+            int r = heap[0];
+            from = headFrom[r];
+            to = headTo[r];
+            weight = headWeight[r];
+            if (!advance(r)) heap[0] = heap[--heapSize];
+            siftDown(0);
+            return true;
+        }
+
+        /** Reads the next record of run r into its head slot; false at the end of the run. */
+        private boolean advance(int r) throws IOException {
+            double w;
+            try {
+                w = in[r].readDouble();
+            } catch (EOFException end) {
+                return false;
+            }
+            headWeight[r] = w;
+            headKey[r] = EdgeSort.doubleKey(w);
+            headIndex[r] = in[r].readLong();
+            headFrom[r] = in[r].readInt();
+            headTo[r] = in[r].readInt();
+            return true;
+        }
+
+        private boolean less(int a, int b) {
+            if (headKey[a] != headKey[b]) return headKey[a] < headKey[b];
+            return headIndex[a] < headIndex[b];
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= heapSize) return;
+                int smallest = left + 1 < heapSize && less(heap[left + 1], heap[left]) ? left + 1 : left;
+                if (!less(heap[smallest], heap[i])) return;
+                int t = heap[i];
+                heap[i] = heap[smallest];
+                heap[smallest] = t;
+                i = smallest;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream s : in) if (s != null) s.close();
+        }
+    }
+}
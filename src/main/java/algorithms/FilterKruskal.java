@@ -0,0 +1,169 @@
+package algorithms;
+
+import graph.*;
+import metrics.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Filter-Kruskal. Edges are split around a median weight; the light half is solved
+ * first, then heavy edges whose endpoints are already connected are filtered out
+ * before the heavy half is processed, so most heavy edges are never sorted.
+ * Segments above {@link EdgeSort#PARALLEL_THRESHOLD} are partitioned and filtered
+ * with parallel streams and sorted with {@link Arrays#parallelSort}.
+ */
+public class FilterKruskal {
+    private static final int MIN_BASE_CASE = 1024;
+    private static final int SAMPLE_SIZE = 1023;
+
+    public static Metrics run(Graph graph) {
+        return run(graph.getCompact());
+    }
+
+    public static Metrics run(CompactGraph graph) {
+        Solver solver = new Solver(graph);
+
+        long startTime = System.nanoTime();
+        solver.solve(0, graph.edgeCount());
+        long endTime = System.nanoTime();
+        double timeMs = (endTime - startTime) / 1_000_000.0;
+
+        int n = graph.vertexCount();
+        boolean connected = solver.mstEdges.size() == n - 1;
+
+        Metrics metrics = new Metrics("FilterKruskal", graph.getId(), n, graph.edgeCount(),
+                solver.totalCost, solver.operations, timeMs, connected, solver.mstEdges);
+        metrics.setUnionFindCounts(solver.ds.finds() + solver.parallelFinds, solver.ds.unions());
+        metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - startTime);
+        metrics.getProfile().add(Counter.PATH_COMPRESSIONS, solver.ds.compressions());
+        return metrics;
+    }
+
+    private static final class Solver {
+        private final CompactGraph graph;
+        private final double[] weight;
+        private final int[] edges;
+        private final DisjointSet ds;
+        private final int baseCase;
+        private final List<Edge> mstEdges = new ArrayList<>();
+        private double totalCost;
+        private long operations;
+        private long parallelFinds;
+
+        Solver(CompactGraph graph) {
+            this.graph = graph;
+            this.weight = graph.getWeights();
+            this.edges = new int[graph.edgeCount()];
+            for (int e = 0; e < edges.length; e++) edges[e] = e;
+            this.ds = new DisjointSet(graph.vertexCount());
+            this.baseCase = Math.max(MIN_BASE_CASE, graph.vertexCount());
+        }
+
+        private boolean done() {
+            return mstEdges.size() >= graph.vertexCount() - 1;
+        }
+
+        void solve(int lo, int hi) {
+            if (done() || lo >= hi) return;
+            if (hi - lo <= baseCase) {
+                kruskal(lo, hi);
+                return;
+            }
+            int split = partition(lo, hi);
+            if (split <= lo || split >= hi) {
+                kruskal(lo, hi);
+                return;
+            }
+            solve(lo, split);
+            if (done()) return;
+            solve(split, filter(split, hi));
+        }
+
+        private void kruskal(int lo, int hi) {
+            EdgeSort.sort(edges, lo, hi, weight);
+            for (int i = lo; i < hi && !done(); i++) {
+                int e = edges[i];
+                int root1 = ds.find(graph.from(e));
+                int root2 = ds.find(graph.to(e));
+                operations++;
+                if (root1 != root2) {
+                    mstEdges.add(graph.toEdge(e));
+                    totalCost += weight[e];
+                    ds.link(root1, root2);
+                }
+            }
+        }
+
+        /** Reorders edges[lo, hi) so that light edges come first; returns the start of the heavy part. */
+        private int partition(int lo, int hi) {
+            if (hi - lo < EdgeSort.PARALLEL_THRESHOLD) {
+                int k = lo + (hi - lo) / 2;
+                select(edges, lo, hi, k);
+                return k + 1;
+            }
+
+            double pivot = samplePivot(lo, hi);
+            int[] light = IntStream.range(lo, hi).parallel().map(i -> edges[i]).filter(e -> weight[e] <= pivot).toArray();
+            int[] heavy = IntStream.range(lo, hi).parallel().map(i -> edges[i]).filter(e -> weight[e] > pivot).toArray();
+            System.arraycopy(light, 0, edges, lo, light.length);
+            System.arraycopy(heavy, 0, edges, lo + light.length, heavy.length);
+            return lo + light.length;
+        }
+
+        /** Median weight of an evenly spaced sample of the segment, found with quickselect. */
+        private double samplePivot(int lo, int hi) {
+            int size = Math.min(SAMPLE_SIZE, hi - lo);
+            int[] sample = new int[size];
+            long step = (hi - lo) / size;
+            for (int i = 0; i < size; i++) sample[i] = edges[(int) (lo + i * step)];
+            select(sample, 0, size, size / 2);
+            return weight[sample[size / 2]];
+        }
+
+        /** Quickselect: places the k-th lightest edge of a[lo, hi) at index k with lighter edges before it. */
+        private void select(int[] a, int lo, int hi, int k) {
+            while (hi - lo > 1) {
+                double pivot = medianOfThree(a, lo, lo + (hi - lo) / 2, hi - 1);
+                int lt = lo, i = lo, gt = hi;
+                while (i < gt) {
+                    double w = weight[a[i]];
+                    if (w < pivot) swap(a, lt++, i++);
+                    else if (w > pivot) swap(a, i, --gt);
+                    else i++;
+                }
+                if (k < lt) hi = lt;
+                else if (k >= gt) lo = gt;
+                else return;
+            }
+        }
+
+        private double medianOfThree(int[] a, int i, int j, int k) {
+            double x = weight[a[i]], y = weight[a[j]], z = weight[a[k]];
+            return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+        }
+
+        /** Drops edges whose endpoints are already connected; returns the new end of the segment. */
+        private int filter(int lo, int hi) {
+            if (hi - lo < EdgeSort.PARALLEL_THRESHOLD) {
+                int kept = lo;
+                for (int i = lo; i < hi; i++) {
+                    int e = edges[i];
+                    if (ds.find(graph.from(e)) != ds.find(graph.to(e))) edges[kept++] = e;
+                }
+                return kept;
+            }
+
+            int[] kept = IntStream.range(lo, hi).parallel().map(i -> edges[i])
+                    .filter(e -> ds.root(graph.from(e)) != ds.root(graph.to(e))).toArray();
+            parallelFinds += 2L * (hi - lo);
+            System.arraycopy(kept, 0, edges, lo, kept.length);
+            return lo + kept.length;
+        }
+
+        private static void swap(int[] a, int i, int j) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap over item ids 0..capacity-1 keyed by primitive doubles, with a
+ * position index so that each item appears at most once and its key can be
+ * decreased in place. Each node has {@code arity} children.
+ */
+public class IndexedDaryHeap {
+    private final int arity;
+    private final int[] heap;
+    private final int[] pos;
+    private final double[] keys;
+    private int size;
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2, got " + arity);
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int arity() { return arity; }
+    public int capacity() { return heap.length; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int item) { return pos[item] >= 0; }
+    public double keyOf(int item) { return keys[item]; }
+
+    public void insert(int item, double key) {
+        if (pos[item] >= 0) throw new IllegalStateException("Item " + item + " is already in the heap");
+        keys[item] = key;
+        heap[size] = item;
+        pos[item] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int item, double key) {
+        keys[item] = key;
+        siftUp(pos[item]);
+    }
+
+    /** Inserts the item, or lowers its key if it is present with a larger one. Returns true if the heap changed. */
+    public boolean offer(int item, double key) {
+        if (pos[item] < 0) {
+            insert(item, key);
+            return true;
+        }
+        if (key < keys[item]) {
+            decreaseKey(item, key);
+            return true;
+        }
+        return false;
+    }
+
+    public int peekMin() { return heap[0]; }
+
+    public int pollMin() {
+        int min = heap[0];
+        pos[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /** Empties the heap in O(size) so it can be reused for another run. */
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int p = heap[parent];
+            if (keys[p] <= key) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = item;
+        pos[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            double bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                double k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (bestKey >= key) break;
+            heap[i] = heap[best];
+            pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = item;
+        pos[item] = i;
+    }
+}
@@ -1,51 +1,100 @@
 package algorithms;
 
 import graph.*;
-import metrics.Metrics;
+import metrics.*;
 import java.util.*;
 
+/**
+ * Kruskal over the CSR edge arrays. Edge ids are sorted as primitive keys with the
+ * configured {@link SortMethod} (-Dmst.kruskalSort=parallel|radix, default parallel;
+ * -Dmst.sortParallelThreshold sets where Arrays.parallelSort takes over), and the
+ * sort is reported as its own phase. A mapped graph is read in place; only its
+ * weight column is gathered into an array for the sort.
+ */
 public class Kruskal {
+    public static final SortMethod DEFAULT_SORT = SortMethod.fromName(System.getProperty("mst.kruskalSort", "parallel"));
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger("mst.sortParallelThreshold", EdgeSort.PARALLEL_THRESHOLD);
 
     public static Metrics run(Graph graph) {
-        List<Edge> edges = new ArrayList<>(graph.getEdges());
-        Collections.sort(edges);
+        return run(graph.getEdgeList());
+    }
 
-        Map<String, String> parent = new HashMap<>();
-        for (String node : graph.getNodes()) parent.put(node, node);
+    public static Metrics run(EdgeList graph) {
+        return solve(graph, false, DEFAULT_SORT, DEFAULT_PARALLEL_THRESHOLD);
+    }
 
-        List<Edge> mstEdges = new ArrayList<>();
-        double totalCost = 0;
-        long operations = 0;
+    public static Metrics run(EdgeList graph, SortMethod sort, int parallelThreshold) {
+        return solve(graph, false, sort, parallelThreshold);
+    }
+
+    public static Metrics runForest(Graph graph) {
+        return runForest(graph.getEdgeList());
+    }
+
+    /**
+     * Same pass as {@link #run}, which already yields a forest on disconnected input,
+     * with the trees grouped by the union-find sets they ended up in.
+     */
+    public static Metrics runForest(EdgeList graph) {
+        return solve(graph, true, DEFAULT_SORT, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    private static Metrics solve(EdgeList graph, boolean forest, SortMethod sort, int parallelThreshold) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
 
         long startTime = System.nanoTime();
 
-        for (Edge e : edges) {
-            String root1 = find(parent, e.getFrom());
-            String root2 = find(parent, e.getTo());
+        double[] weight = weights(graph);
+
+        int[] order = new int[m];
+        for (int e = 0; e < m; e++) order[e] = e;
+        EdgeSort.sort(order, 0, m, weight, sort, parallelThreshold);
+        long sorted = System.nanoTime();
+
+        DisjointSet ds = new DisjointSet(n);
+
+        int[] tree = new int[Math.max(0, n - 1)];
+        int treeSize = 0;
+        double totalCost = 0;
+        long operations = 0;
+
+        for (int e : order) {
+            if (treeSize == n - 1) break;
+            int root1 = ds.find(graph.from(e));
+            int root2 = ds.find(graph.to(e));
             operations++;
-            if (!root1.equals(root2)) {
-                mstEdges.add(e);
-                totalCost += e.getWeight();
-                union(parent, root1, root2);
+            if (root1 != root2) {
+                tree[treeSize++] = e;
+                totalCost += weight[e];
+                ds.link(root1, root2);
             }
         }
 
         long endTime = System.nanoTime();
         double timeMs = (endTime - startTime) / 1_000_000.0;
 
-        boolean connected = mstEdges.size() == graph.getNodes().size() - 1;
-
-        return new Metrics("Kruskal", graph.getId(), graph.getNodes().size(), graph.getEdges().size(),
-                totalCost, operations, timeMs, connected, mstEdges);
-    }
-
-    private static String find(Map<String, String> parent, String node) {
-        if (!parent.get(node).equals(node))
-            parent.put(node, find(parent, parent.get(node)));
-        return parent.get(node);
+        Metrics metrics;
+        if (forest) {
+            metrics = SpanningForest.label(ds).toMetrics("KruskalForest", graph, tree, null, treeSize, operations, timeMs);
+        } else {
+            List<Edge> mstEdges = new ArrayList<>(treeSize);
+            for (int i = 0; i < treeSize; i++) mstEdges.add(graph.toEdge(tree[i]));
+            metrics = new Metrics("Kruskal", graph.getId(), n, m,
+                    totalCost, operations, timeMs, treeSize == n - 1, mstEdges);
+        }
+        metrics.setUnionFindCounts(ds.finds(), ds.unions());
+        metrics.getProfile().addNanos(Phase.SORT, sorted - startTime);
+        metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - sorted);
+        metrics.getProfile().add(Counter.PATH_COMPRESSIONS, ds.compressions());
+        return metrics;
     }
 
-    private static void union(Map<String, String> parent, String x, String y) {
-        parent.put(find(parent, x), find(parent, y));
+    /** The sort keys: a heap graph's own weight array, otherwise a gathered copy of the column. */
+    private static double[] weights(EdgeList graph) {
+        if (graph instanceof CompactGraph compact) return compact.getWeights();
+        double[] weight = new double[graph.edgeCount()];
+        for (int e = 0; e < weight.length; e++) weight[e] = graph.weight(e);
+        return weight;
     }
 }
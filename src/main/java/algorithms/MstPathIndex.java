@@ -0,0 +1,246 @@
+package algorithms;
+
+import graph.Edge;
+import metrics.Metrics;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Path queries over a computed spanning tree or forest: the heaviest edge (bottleneck)
+ * and the total weight between two vertices in O(log V). The tree is rooted once per
+ * component and binary-lifting tables hold, for every vertex and power of two, the
+ * 2^k-th ancestor and the heaviest edge on the way up to it. The index is immutable,
+ * so any number of threads may query it; the batch methods split large batches
+ * across the common pool.
+ *
+ * <p>Vertices are those that appear in the tree edges. Querying two vertices in
+ * different components returns NaN (and null for {@link #heaviestEdge}).
+ */
+public class MstPathIndex {
+    private static final int PARALLEL_BATCH = 1 << 12;
+
+    private final Map<String, Integer> index;
+    private final String[] names;
+    private final int n;
+    private final int levels;
+    // Flattened [level * n + v] tables.
+    private final int[] up;
+    private final int[] upEdge;
+    private final int[] depth;
+    private final int[] component;
+    private final double[] distance;
+    private final int[] edgeFrom, edgeTo;
+    private final double[] edgeWeight;
+
+    public MstPathIndex(Metrics mst) {
+        this(mst.getMstEdges());
+    }
+
+    public MstPathIndex(List<Edge> treeEdges) {
+        int m = treeEdges.size();
+        index = new HashMap<>(2 * m + 2);
+        List<String> nameList = new ArrayList<>();
+        edgeFrom = new int[m];
+        edgeTo = new int[m];
+        edgeWeight = new double[m];
+        for (int e = 0; e < m; e++) {
+            Edge edge = treeEdges.get(e);
+            edgeFrom[e] = vertex(edge.getFrom(), nameList);
+            edgeTo[e] = vertex(edge.getTo(), nameList);
+            edgeWeight[e] = edge.getWeight();
+        }
+        names = nameList.toArray(new String[0]);
+        n = names.length;
+
+        // CSR adjacency of the tree.
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] adjEdge = new int[2 * m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            adjEdge[next[edgeFrom[e]]++] = e;
+            adjEdge[next[edgeTo[e]]++] = e;
+        }
+
+        // BFS from each unvisited vertex gives parents, depths and component ids.
+        int[] parent = new int[n];
+        int[] parentEdge = new int[n];
+        depth = new int[n];
+        component = new int[n];
+        distance = new double[n];
+        Arrays.fill(component, -1);
+        int[] queue = new int[n];
+        int maxDepth = 0;
+        int components = 0;
+        for (int root = 0; root < n; root++) {
+            if (component[root] >= 0) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            component[root] = components;
+            parent[root] = root;
+            parentEdge[root] = -1;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int e = adjEdge[i];
+                    int w = edgeFrom[e] == u ? edgeTo[e] : edgeFrom[e];
+                    if (component[w] >= 0) continue;
+                    component[w] = components;
+                    parent[w] = u;
+                    parentEdge[w] = e;
+                    depth[w] = depth[u] + 1;
+                    distance[w] = distance[u] + edgeWeight[e];
+                    maxDepth = Math.max(maxDepth, depth[w]);
+                    queue[tail++] = w;
+                }
+            }
+            components++;
+        }
+        if (m != n - components) throw new IllegalArgumentException("Edges do not form a forest");
+
+        levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth));
+        up = new int[levels * n];
+        upEdge = new int[levels * n];
+        System.arraycopy(parent, 0, up, 0, n);
+        System.arraycopy(parentEdge, 0, upEdge, 0, n);
+        for (int k = 1; k < levels; k++) {
+            int row = k * n, prev = (k - 1) * n;
+            for (int v = 0; v < n; v++) {
+                int mid = up[prev + v];
+                up[row + v] = up[prev + mid];
+                upEdge[row + v] = heavier(upEdge[prev + v], upEdge[prev + mid]);
+            }
+        }
+    }
+
+    private int vertex(String name, List<String> nameList) {
+        Integer id = index.get(name);
+        if (id != null) return id;
+        index.put(name, nameList.size());
+        nameList.add(name);
+        return nameList.size() - 1;
+    }
+
+    /** Id of a vertex for the int-based queries. */
+    public int vertex(String name) {
+        Integer id = index.get(name);
+        if (id == null) throw new IllegalArgumentException("Unknown vertex " + name);
+        return id;
+    }
+
+    public String name(int v) { return names[v]; }
+    public int vertexCount() { return n; }
+
+    public boolean connected(int u, int v) { return component[u] == component[v]; }
+
+    /** Lowest common ancestor in the rooted tree, or -1 across components. */
+    public int lca(int u, int v) {
+        if (component[u] != component[v]) return -1;
+        if (depth[u] < depth[v]) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        for (int k = 0, diff = depth[u] - depth[v]; diff != 0; k++, diff >>>= 1)
+            if ((diff & 1) != 0) u = up[k * n + u];
+        if (u == v) return u;
+        for (int k = levels - 1; k >= 0; k--) {
+            int a = up[k * n + u], b = up[k * n + v];
+            if (a != b) {
+                u = a;
+                v = b;
+            }
+        }
+        return up[u];
+    }
+
+    /** Weight of the heaviest edge on the tree path, NaN across components and -Infinity for u == v. */
+    public double maxWeight(int u, int v) {
+        int e = maxEdge(u, v);
+        if (e == -2) return Double.NaN;
+        return e < 0 ? Double.NEGATIVE_INFINITY : edgeWeight[e];
+    }
+
+    public double maxWeight(String a, String b) {
+        return maxWeight(vertex(a), vertex(b));
+    }
+
+    /** The heaviest edge on the tree path, or null when u == v or they are not connected. */
+    public Edge heaviestEdge(String a, String b) {
+        int e = maxEdge(vertex(a), vertex(b));
+        return e < 0 ? null : new Edge(names[edgeFrom[e]], names[edgeTo[e]], edgeWeight[e]);
+    }
+
+    /** Sum of the edge weights on the tree path, NaN across components. */
+    public double pathLength(int u, int v) {
+        int a = lca(u, v);
+        return a < 0 ? Double.NaN : distance[u] + distance[v] - 2 * distance[a];
+    }
+
+    public double pathLength(String a, String b) {
+        return pathLength(vertex(a), vertex(b));
+    }
+
+    /** Number of edges on the tree path, -1 across components. */
+    public int hops(int u, int v) {
+        int a = lca(u, v);
+        return a < 0 ? -1 : depth[u] + depth[v] - 2 * depth[a];
+    }
+
+    /** {@link #maxWeight(int, int)} for every pair (from[i], to[i]); parallel for large batches. */
+    public double[] maxWeights(int[] from, int[] to) {
+        double[] out = new double[from.length];
+        range(from.length).forEach(i -> out[i] = maxWeight(from[i], to[i]));
+        return out;
+    }
+
+    /** {@link #pathLength(int, int)} for every pair (from[i], to[i]); parallel for large batches. */
+    public double[] pathLengths(int[] from, int[] to) {
+        double[] out = new double[from.length];
+        range(from.length).forEach(i -> out[i] = pathLength(from[i], to[i]));
+        return out;
+    }
+
+    private static IntStream range(int count) {
+        IntStream range = IntStream.range(0, count);
+        return count >= PARALLEL_BATCH ? range.parallel() : range;
+    }
+
+    /** Tree edge id of the heaviest edge between u and v; -1 if u == v, -2 across components. */
+    private int maxEdge(int u, int v) {
+        if (component[u] != component[v]) return -2;
+        int best = -1;
+        if (depth[u] < depth[v]) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        for (int k = 0, diff = depth[u] - depth[v]; diff != 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                best = heavier(best, upEdge[k * n + u]);
+                u = up[k * n + u];
+            }
+        }
+        if (u == v) return best;
+        for (int k = levels - 1; k >= 0; k--) {
+            int a = up[k * n + u], b = up[k * n + v];
+            if (a != b) {
+                best = heavier(best, heavier(upEdge[k * n + u], upEdge[k * n + v]));
+                u = a;
+                v = b;
+            }
+        }
+        return heavier(best, heavier(upEdge[u], upEdge[v]));
+    }
+
+    private int heavier(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return edgeWeight[b] > edgeWeight[a] ? b : a;
+    }
+}
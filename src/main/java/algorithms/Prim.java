@@ -1,43 +1,388 @@
 package algorithms;
 
 import graph.*;
-import metrics.Metrics;
+import metrics.*;
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class Prim {
+    public static final int DEFAULT_ARITY = 4;
+    /** Components at least this large are solved in parallel by {@link #runForest}. */
+    public static final int PARALLEL_COMPONENT_VERTICES = 1 << 12;
+    /** One solver per thread, so repeated runs reuse its buffers and allocate only the result. */
+    private static final ThreadLocal<Solver> SOLVERS = ThreadLocal.withInitial(Solver::new);
 
     public static Metrics run(Graph graph) {
-        Map<String, List<Edge>> adj = graph.getAdjacencyList();
-        Set<String> visited = new HashSet<>();
+        return run(graph.getEdgeList());
+    }
+
+    public static Metrics run(EdgeList graph) {
+        Solver solver = SOLVERS.get();
+        try {
+            long startTime = System.nanoTime();
+            solver.solve(graph);
+            long endTime = System.nanoTime();
+            return solver.toMetrics((endTime - startTime) / 1_000_000.0);
+        } finally {
+            // Also on failure, so the thread's cached solver never pins the graph.
+            solver.release();
+        }
+    }
+
+    public static Metrics runForest(Graph graph) {
+        return runForest(graph.getEdgeList(), PARALLEL_COMPONENT_VERTICES);
+    }
+
+    /**
+     * Minimum spanning forest: one Prim tree per connected component. Components with
+     * at least {@code parallelThreshold} vertices are grown concurrently on the common
+     * ForkJoinPool, each with its own solver; the rest share one sequential solver.
+     */
+    public static Metrics runForest(EdgeList graph, int parallelThreshold) {
+        long startTime = System.nanoTime();
+
+        SpanningForest forest = SpanningForest.label(graph);
+        int[] smallRoots = new int[forest.count];
+        int[] largeRoots = new int[forest.count];
+        int small = 0, large = 0;
+        for (int c = 0; c < forest.count; c++) {
+            if (forest.size[c] >= parallelThreshold) largeRoots[large++] = forest.root[c];
+            else smallRoots[small++] = forest.root[c];
+        }
+
+        List<Solver> solvers = new ArrayList<>();
+        Solver sequential = new Solver();
+        sequential.solveForest(graph, smallRoots, small);
+        solvers.add(sequential);
+        solvers.addAll(Arrays.stream(largeRoots, 0, large)
+                .parallel()
+                .mapToObj(root -> {
+                    Solver solver = new Solver();
+                    solver.solveForest(graph, new int[]{root}, 1);
+                    return solver;
+                })
+                .collect(Collectors.toList()));
+
+        int n = graph.vertexCount();
+        int[] tree = new int[Math.max(0, n - 1)];
+        int[] treeFrom = new int[tree.length];
+        int treeSize = 0;
+        long operations = 0, pushes = 0;
+        for (Solver solver : solvers) {
+            for (int i = 0; i < solver.treeSize(); i++) {
+                tree[treeSize] = solver.treeEdge(i);
+                treeFrom[treeSize++] = solver.treeFrom(i);
+            }
+            operations += solver.operations();
+            pushes += solver.pushes();
+        }
+
+        long endTime = System.nanoTime();
+        double timeMs = (endTime - startTime) / 1_000_000.0;
+
+        Metrics metrics = forest.toMetrics("PrimForest", graph, tree, treeFrom, treeSize, operations, timeMs);
+        metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - startTime);
+        metrics.getProfile().add(Counter.HEAP_PUSHES, pushes);
+        metrics.getProfile().add(Counter.HEAP_POLLS, operations);
+        return metrics;
+    }
+
+    public static Metrics runEager(Graph graph) {
+        return runEager(graph.getEdgeList(), DEFAULT_ARITY);
+    }
+
+    /**
+     * Eager Prim: keeps at most one heap entry per vertex (its cheapest known
+     * connecting edge) and lowers it with decrease-key instead of queueing duplicates.
+     */
+    public static Metrics runEager(EdgeList graph, int arity) {
+        int n = graph.vertexCount();
+        Adjacency adjacency = graph.adjacency();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        double[] adjWeights = adjacency.getWeights();
+        int[] adjEdges = adjacency.getEdges();
+
+        boolean[] visited = new boolean[n];
+        int[] bestEdge = new int[n];
+        int[] bestFrom = new int[n];
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
         List<Edge> mstEdges = new ArrayList<>();
         double totalCost = 0;
         long operations = 0;
-
-        String start = graph.getNodes().get(0);
-        visited.add(start);
-        PriorityQueue<Edge> pq = new PriorityQueue<>(Comparator.comparingDouble(Edge::getWeight));
-        pq.addAll(adj.get(start));
+        long pushes = 0;
 
         long startTime = System.nanoTime();
 
-        while (!pq.isEmpty() && mstEdges.size() < graph.getNodes().size() - 1) {
-            Edge edge = pq.poll();
+        if (n > 0) {
+            bestEdge[0] = -1;
+            heap.insert(0, 0);
+        }
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
             operations++;
-            if (visited.contains(edge.getTo())) continue;
-            visited.add(edge.getTo());
-            mstEdges.add(edge);
-            totalCost += edge.getWeight();
-            for (Edge next : adj.get(edge.getTo())) {
-                if (!visited.contains(next.getTo())) pq.add(next);
+            visited[u] = true;
+            if (bestEdge[u] >= 0) {
+                mstEdges.add(graph.toEdge(bestEdge[u], bestFrom[u]));
+                totalCost += heap.keyOf(u);
+            }
+            for (int s = offsets[u]; s < offsets[u + 1]; s++) {
+                int v = targets[s];
+                if (!visited[v] && heap.offer(v, adjWeights[s])) {
+                    pushes++;
+                    bestEdge[v] = adjEdges[s];
+                    bestFrom[v] = u;
+                }
             }
         }
 
         long endTime = System.nanoTime();
         double timeMs = (endTime - startTime) / 1_000_000.0;
 
-        boolean connected = mstEdges.size() == graph.getNodes().size() - 1;
+        boolean connected = mstEdges.size() == n - 1;
 
-        return new Metrics("Prim", graph.getId(), graph.getNodes().size(), graph.getEdges().size(),
+        Metrics metrics = new Metrics("PrimEager", graph.getId(), n, graph.edgeCount(),
                 totalCost, operations, timeMs, connected, mstEdges);
+        metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - startTime);
+        metrics.getProfile().add(Counter.HEAP_PUSHES, pushes);
+        metrics.getProfile().add(Counter.HEAP_POLLS, operations);
+        return metrics;
+    }
+
+    public static Metrics runDense(Graph graph) {
+        return runDense(graph.getEdgeList());
+    }
+
+    /**
+     * O(V^2) array Prim for near-complete graphs: instead of a heap, every step scans
+     * the tentative distances of the vertices not yet in the tree for the minimum and
+     * relaxes the new vertex's CSR row. The remaining vertices are kept packed at the
+     * front of {@code key} (the chosen one is swapped with the last), so the scan is a
+     * branch-light pass over a shrinking contiguous array. Ties go to the lowest slot.
+     * Like {@link #run}, a disconnected graph yields the tree of vertex 0. The scan and
+     * relaxation use the Vector API when it is available (see {@link DenseScan}).
+     */
+    public static Metrics runDense(EdgeList graph) {
+        return runDense(graph, DenseScan.DEFAULT);
+    }
+
+    /** Dense Prim with the Vector API loops if {@code vectorized} and available, else the scalar ones. */
+    public static Metrics runDense(EdgeList graph, boolean vectorized) {
+        return runDense(graph, vectorized && DenseScan.VECTOR != null ? DenseScan.VECTOR : DenseScan.SCALAR);
+    }
+
+    /** Whether the Vector API version of {@link #runDense} was compiled in and its module is present. */
+    public static boolean hasVectorDenseScan() {
+        return DenseScan.VECTOR != null;
+    }
+
+    static Metrics runDense(EdgeList graph, DenseScan scan) {
+        int n = graph.vertexCount();
+        Adjacency adjacency = graph.adjacency();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        double[] adjWeights = adjacency.getWeights();
+        int[] adjEdges = adjacency.getEdges();
+
+        // key[i] / vertexAt[i] for the remaining slots i < remaining; slotOf[v] >= remaining once v is in
+        // the tree, and the key of a freed slot is -infinity so no edge can lower it.
+        double[] key = new double[n];
+        int[] vertexAt = new int[n];
+        int[] slotOf = new int[n];
+        int[] bestEdge = new int[n];
+        int[] treeEdges = new int[Math.max(0, n - 1)];
+        int[] treeFrom = new int[treeEdges.length];
+        int treeSize = 0;
+        double totalCost = 0;
+        long operations = 0;
+
+        long startTime = System.nanoTime();
+
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+        Arrays.fill(bestEdge, -1);
+        for (int v = 0; v < n; v++) {
+            vertexAt[v] = v;
+            slotOf[v] = v;
+        }
+        if (n > 0) key[0] = 0;
+        int remaining = n;
+        while (remaining > 0) {
+            int best = scan.argMin(key, remaining);
+            double min = key[best];
+            operations += remaining;
+            if (min == Double.POSITIVE_INFINITY) break;
+
+            int u = vertexAt[best];
+            int last = --remaining;
+            key[best] = key[last];
+            vertexAt[best] = vertexAt[last];
+            slotOf[vertexAt[best]] = best;
+            slotOf[u] = last;
+            key[last] = Double.NEGATIVE_INFINITY;
+            if (bestEdge[u] >= 0) {
+                int e = bestEdge[u];
+                treeEdges[treeSize] = e;
+                treeFrom[treeSize++] = graph.from(e) == u ? graph.to(e) : graph.from(e);
+                totalCost += min;
+            }
+
+            scan.relax(targets, adjWeights, adjEdges, offsets[u], offsets[u + 1], slotOf, remaining, key, bestEdge);
+            operations += offsets[u + 1] - offsets[u];
+        }
+
+        long endTime = System.nanoTime();
+        double timeMs = (endTime - startTime) / 1_000_000.0;
+
+        List<Edge> mstEdges = new ArrayList<>(treeSize);
+        for (int i = 0; i < treeSize; i++) mstEdges.add(graph.toEdge(treeEdges[i], treeFrom[i]));
+        Metrics metrics = new Metrics("PrimDense", graph.getId(), n, graph.edgeCount(),
+                totalCost, operations, timeMs, treeSize == n - 1, mstEdges);
+        metrics.getProfile().addNanos(Phase.MAIN_LOOP, endTime - startTime);
+        return metrics;
+    }
+
+    /**
+     * Lazy Prim with reusable scratch buffers: a visited bitset, a binary heap of CSR
+     * slots keyed by their weights, and the chosen tree edges. Buffers only grow, so
+     * once a solver has seen its largest graph further {@link #solve} calls allocate
+     * nothing. Results stay valid until the next call. Not thread-safe; use one
+     * solver per thread.
+     */
+    public static final class Solver {
+        private long[] visited = new long[0];
+        private int[] heap = new int[0];
+        private int[] treeEdges = new int[0];
+        private int[] treeFrom = new int[0];
+        private EdgeList graph;
+        private int treeSize;
+        private double totalCost;
+        private long operations;
+        private long pushes;
+
+        /** Computes the MST (or the tree of vertex 0 if disconnected) and returns its cost. */
+        public double solve(EdgeList graph) {
+            reset(graph);
+            if (graph.vertexCount() > 0) grow(0);
+            return totalCost;
+        }
+
+        /**
+         * Grows a tree from each of the first {@code count} roots that is not reached
+         * yet, so passing one vertex per component yields the spanning forest.
+         */
+        public double solveForest(EdgeList graph, int[] roots, int count) {
+            reset(graph);
+            for (int i = 0; i < count; i++) {
+                if (!isVisited(roots[i])) grow(roots[i]);
+            }
+            return totalCost;
+        }
+
+        private void reset(EdgeList graph) {
+            int n = graph.vertexCount();
+            if (visited.length < (n + 63) >>> 6) visited = new long[(n + 63) >>> 6];
+            if (treeEdges.length < n) {
+                treeEdges = new int[n];
+                treeFrom = new int[n];
+            }
+            Arrays.fill(visited, 0, (n + 63) >>> 6, 0L);
+            this.graph = graph;
+            treeSize = 0;
+            totalCost = 0;
+            operations = 0;
+            pushes = 0;
+        }
+
+        private void grow(int root) {
+            EdgeList graph = this.graph;
+            int n = graph.vertexCount();
+            Adjacency adjacency = graph.adjacency();
+            int[] offsets = adjacency.getOffsets();
+            int[] targets = adjacency.getTargets();
+            double[] adjWeights = adjacency.getWeights();
+            int[] adjEdges = adjacency.getEdges();
+
+            int size = 0;
+            visited[root >>> 6] |= 1L << root;
+            for (int s = offsets[root]; s < offsets[root + 1]; s++) size = push(s, size, adjWeights);
+
+            while (size > 0 && treeSize < n - 1) {
+                int slot = heap[0];
+                size = pop(size, adjWeights);
+                operations++;
+                int v = targets[slot];
+                if (isVisited(v)) continue;
+                visited[v >>> 6] |= 1L << v;
+                int e = adjEdges[slot];
+                treeEdges[treeSize] = e;
+                treeFrom[treeSize++] = graph.from(e) == v ? graph.to(e) : graph.from(e);
+                totalCost += adjWeights[slot];
+                for (int s = offsets[v]; s < offsets[v + 1]; s++) {
+                    if (!isVisited(targets[s])) size = push(s, size, adjWeights);
+                }
+            }
+        }
+
+        /** Drops the reference to the last graph so a cached solver does not keep it alive. */
+        void release() {
+            graph = null;
+        }
+
+        public double totalCost() { return totalCost; }
+        public long operations() { return operations; }
+        public long pushes() { return pushes; }
+        public int treeSize() { return treeSize; }
+        public int treeEdge(int i) { return treeEdges[i]; }
+        public int treeFrom(int i) { return treeFrom[i]; }
+        public boolean isConnected() { return treeSize == graph.vertexCount() - 1; }
+
+        /** Materializes the last result; this is the only step that allocates. */
+        public Metrics toMetrics(double timeMs) {
+            List<Edge> mstEdges = new ArrayList<>(treeSize);
+            for (int i = 0; i < treeSize; i++) mstEdges.add(graph.toEdge(treeEdges[i], treeFrom[i]));
+            Metrics metrics = new Metrics("Prim", graph.getId(), graph.vertexCount(), graph.edgeCount(),
+                    totalCost, operations, timeMs, isConnected(), mstEdges);
+            metrics.getProfile().addNanos(Phase.MAIN_LOOP, (long) (timeMs * 1_000_000));
+            metrics.getProfile().add(Counter.HEAP_PUSHES, pushes);
+            metrics.getProfile().add(Counter.HEAP_POLLS, operations);
+            return metrics;
+        }
+
+        private boolean isVisited(int v) {
+            return (visited[v >>> 6] & (1L << v)) != 0;
+        }
+
+        private int push(int slot, int size, double[] key) {
+            // Each slot is pushed at most once, when its source vertex is visited, so
+            // the heap grows towards 2E only on the first large graph.
+            if (size == heap.length) heap = Arrays.copyOf(heap, Math.max(16, size + (size >> 1)));
+            pushes++;
+            int i = size;
+            double w = key[slot];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (key[heap[parent]] <= w) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = slot;
+            return size + 1;
+        }
+
+        private int pop(int size, double[] key) {
+            int last = heap[--size];
+            double w = key[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) child++;
+                if (w <= key[heap[child]]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return size;
+        }
     }
 }
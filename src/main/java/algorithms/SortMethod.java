@@ -0,0 +1,15 @@
+package algorithms;
+
+import java.util.Locale;
+
+/** How Kruskal orders its edges; both sort primitive keys, never Edge objects. */
+public enum SortMethod {
+    /** Packed (weight, index) longs with Arrays.sort, or Arrays.parallelSort above a size threshold. */
+    PARALLEL,
+    /** Stable LSD radix sort over the IEEE-754 bits of the weights, one byte per pass. */
+    RADIX;
+
+    public static SortMethod fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,109 @@
+package algorithms;
+
+import graph.*;
+import metrics.ForestComponent;
+import metrics.Metrics;
+import java.util.*;
+
+/**
+ * Connected-component labelling and per-component assembly shared by the forest
+ * modes of Prim and Kruskal. Components are numbered in order of their smallest vertex.
+ */
+final class SpanningForest {
+    final int[] label;
+    final int[] size;
+    final int[] root;
+    final int count;
+
+    private SpanningForest(int[] label, int count) {
+        this.label = label;
+        this.count = count;
+        this.size = new int[count];
+        this.root = new int[count];
+        Arrays.fill(root, -1);
+        for (int v = 0; v < label.length; v++) {
+            int c = label[v];
+            if (root[c] < 0) root[c] = v;
+            size[c]++;
+        }
+    }
+
+    /** Labels components by breadth-first search over the CSR adjacency. */
+    static SpanningForest label(EdgeList graph) {
+        int n = graph.vertexCount();
+        Adjacency adjacency = graph.adjacency();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        int[] queue = new int[n];
+        int count = 0;
+        for (int s = 0; s < n; s++) {
+            if (label[s] >= 0) continue;
+            int head = 0, tail = 0;
+            label[s] = count;
+            queue[tail++] = s;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (label[v] < 0) {
+                        label[v] = count;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            count++;
+        }
+        return new SpanningForest(label, count);
+    }
+
+    /** Labels components from a union-find that has seen every edge. */
+    static SpanningForest label(DisjointSet ds) {
+        int n = ds.size();
+        int[] label = new int[n];
+        int[] idOfRoot = new int[n];
+        Arrays.fill(idOfRoot, -1);
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int r = ds.root(v);
+            if (idOfRoot[r] < 0) idOfRoot[r] = count++;
+            label[v] = idOfRoot[r];
+        }
+        return new SpanningForest(label, count);
+    }
+
+    /**
+     * Builds the forest result from tree edge ids. {@code treeFrom[i]} is the endpoint
+     * the edge was reached from, or null to keep each edge's stored direction.
+     */
+    Metrics toMetrics(String algorithm, EdgeList graph, int[] tree, int[] treeFrom, int treeSize,
+                      long operations, double timeMs) {
+        int[] edgeCount = new int[count];
+        for (int i = 0; i < treeSize; i++) edgeCount[label[graph.from(tree[i])]]++;
+        List<List<Edge>> edges = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) edges.add(new ArrayList<>(edgeCount[c]));
+        double[] cost = new double[count];
+
+        List<Edge> mstEdges = new ArrayList<>(treeSize);
+        double totalCost = 0;
+        for (int i = 0; i < treeSize; i++) {
+            int e = tree[i];
+            Edge edge = treeFrom != null ? graph.toEdge(e, treeFrom[i]) : graph.toEdge(e);
+            int c = label[graph.from(e)];
+            edges.get(c).add(edge);
+            cost[c] += graph.weight(e);
+            mstEdges.add(edge);
+            totalCost += graph.weight(e);
+        }
+
+        List<ForestComponent> components = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) components.add(new ForestComponent(size[c], cost[c], edges.get(c)));
+
+        int n = graph.vertexCount();
+        Metrics metrics = new Metrics(algorithm, graph.getId(), n, graph.edgeCount(),
+                totalCost, operations, timeMs, treeSize == n - 1, mstEdges);
+        metrics.setComponents(components);
+        return metrics;
+    }
+}
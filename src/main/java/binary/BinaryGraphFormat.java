@@ -0,0 +1,50 @@
+package binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Layout of the binary graph container (all values little-endian):
+ *
+ * <pre>
+ * file header   : magic "MSTG" (int) | version (int) | graph count (int) | reserved (int)
+ * per graph     : id (int) | vertices V (int) | edges E (int) | name bytes N (int) | section length (long)
+ *                 name offsets int[V + 1] | UTF-8 names byte[N] | padding to 8 bytes
+ *                 E edge records of 16 bytes: from (int) | to (int) | weight (double)
+ * </pre>
+ *
+ * The section length covers everything after the 24-byte graph header, so a reader
+ * can skip a graph without decoding it.
+ */
+public final class BinaryGraphFormat {
+    public static final int MAGIC = 0x4754534D; // "MSTG" read as little-endian
+    public static final int VERSION = 1;
+    public static final int FILE_HEADER_BYTES = 16;
+    public static final int GRAPH_HEADER_BYTES = 24;
+    public static final int EDGE_RECORD_BYTES = 16;
+    public static final String EXTENSION = ".mstg";
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryGraphFormat() {}
+
+    static int align8(int bytes) { return (bytes + 7) & ~7; }
+
+    /** Byte offset of the first edge record inside a graph section. */
+    static int edgesOffset(int vertices, int nameBytes) {
+        return align8(4 * (vertices + 1) + nameBytes);
+    }
+
+    /** True if the file starts with the binary magic number. */
+    public static boolean isBinary(String path) throws IOException {
+        Path p = Paths.get(path);
+        if (Files.size(p) < FILE_HEADER_BYTES) return false;
+        try (FileChannel channel = FileChannel.open(p, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4).order(ORDER);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC;
+        }
+    }
+}
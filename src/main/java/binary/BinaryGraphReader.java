@@ -0,0 +1,100 @@
+package binary;
+
+import graph.Graph;
+import graph.SymbolTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Reads a binary container one graph at a time. Each graph section is mapped with
+ * {@link FileChannel#map} on its own, so files larger than 2 GB are fine as long as
+ * no single graph is. {@link #next} wraps the mapping without copying it; graphs that
+ * are later copied to the heap intern their names into a shared {@link SymbolTable},
+ * which is replaced once it reaches {@link SymbolTable#READER_LIMIT} names.
+ */
+public class BinaryGraphReader implements Iterator<Graph>, Closeable {
+    private final FileChannel channel;
+    private final int graphCount;
+    /** -Dmst.validateBinary=true checks every edge endpoint when a graph is mapped. */
+    private static final boolean VALIDATE = Boolean.getBoolean("mst.validateBinary");
+
+    private SymbolTable symbols = new SymbolTable();
+    private int read;
+    private long position = BinaryGraphFormat.FILE_HEADER_BYTES;
+
+    public BinaryGraphReader(String path) throws IOException {
+        channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        ByteBuffer header = readAt(0, BinaryGraphFormat.FILE_HEADER_BYTES);
+        if (header.getInt(0) != BinaryGraphFormat.MAGIC) {
+            channel.close();
+            throw new IllegalArgumentException(path + " is not a binary graph file");
+        }
+        if (header.getInt(4) != BinaryGraphFormat.VERSION) {
+            channel.close();
+            throw new IllegalArgumentException("Unsupported binary graph version " + header.getInt(4));
+        }
+        graphCount = header.getInt(8);
+    }
+
+    public int graphCount() { return graphCount; }
+    /** Pool the graphs mapped so far intern into when copied to the heap. */
+    public SymbolTable getSymbols() { return symbols; }
+
+    @Override
+    public boolean hasNext() {
+        return read < graphCount;
+    }
+
+    @Override
+    public Graph next() {
+        return new Graph(nextMapped());
+    }
+
+    /** Maps the next graph section without copying it. */
+    public MappedGraph nextMapped() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            ByteBuffer header = readAt(position, BinaryGraphFormat.GRAPH_HEADER_BYTES);
+            int id = header.getInt(0);
+            int vertices = header.getInt(4);
+            int edges = header.getInt(8);
+            int nameBytes = header.getInt(12);
+            long sectionBytes = header.getLong(16);
+            if (sectionBytes > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Graph " + id + " is too large to map (" + sectionBytes + " bytes)");
+
+            long start = position + BinaryGraphFormat.GRAPH_HEADER_BYTES;
+            ByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, start, sectionBytes);
+            position = start + sectionBytes;
+            read++;
+            // Copies run on workers, so the size is read under the same monitor they intern with.
+            synchronized (symbols) {
+                if (symbols.size() >= SymbolTable.READER_LIMIT) symbols = new SymbolTable();
+            }
+            MappedGraph graph = new MappedGraph(id, vertices, edges, nameBytes, section, symbols);
+            return VALIDATE ? graph.validate() : graph;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer readAt(long offset, int bytes) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(bytes).order(BinaryGraphFormat.ORDER);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, offset + buf.position()) < 0)
+                throw new IOException("Unexpected end of binary graph file");
+        }
+        return buf;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
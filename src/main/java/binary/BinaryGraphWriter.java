@@ -0,0 +1,134 @@
+package binary;
+
+import graph.CompactGraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Appends graphs to a binary container. Graphs can be written whole or streamed
+ * edge by edge between {@link #beginGraph} and {@link #endGraph}; the edge count,
+ * section length and graph count are patched into their headers afterwards.
+ */
+public class BinaryGraphWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BinaryGraphFormat.ORDER);
+    private int graphCount;
+
+    private long graphStart = -1;
+    private int graphId;
+    private int graphVertices;
+    private int graphNameBytes;
+    private int graphEdgesOffset;
+    private long graphEdges;
+
+    public BinaryGraphWriter(String path) throws IOException {
+        channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(BinaryGraphFormat.MAGIC).putInt(BinaryGraphFormat.VERSION).putInt(0).putInt(0);
+    }
+
+    public void write(CompactGraph graph) throws IOException {
+        String[] names = new String[graph.vertexCount()];
+        for (int v = 0; v < names.length; v++) names[v] = graph.name(v);
+        beginGraph(graph.getId(), names);
+        for (int e = 0; e < graph.edgeCount(); e++) edge(graph.from(e), graph.to(e), graph.weight(e));
+        endGraph();
+    }
+
+    /** Starts a graph section: writes its header placeholder and the vertex name table. */
+    public void beginGraph(int id, String[] names) throws IOException {
+        if (graphStart >= 0) throw new IllegalStateException("Graph " + graphId + " was not ended");
+        int n = names.length;
+        byte[][] encoded = new byte[n][];
+        int nameBytes = 0;
+        for (int v = 0; v < n; v++) {
+            encoded[v] = names[v].getBytes(StandardCharsets.UTF_8);
+            nameBytes += encoded[v].length;
+        }
+        int edgesOffset = BinaryGraphFormat.edgesOffset(n, nameBytes);
+
+        graphStart = position();
+        graphId = id;
+        graphVertices = n;
+        graphNameBytes = nameBytes;
+        graphEdgesOffset = edgesOffset;
+        graphEdges = 0;
+
+        ensure(BinaryGraphFormat.GRAPH_HEADER_BYTES);
+        buffer.putInt(id).putInt(n).putInt(0).putInt(nameBytes).putLong(0);
+
+        int offset = 0;
+        for (int v = 0; v <= n; v++) {
+            ensure(4);
+            buffer.putInt(offset);
+            if (v < n) offset += encoded[v].length;
+        }
+        for (byte[] name : encoded) {
+            ensure(name.length);
+            buffer.put(name);
+        }
+        for (int pad = 4 * (n + 1) + nameBytes; pad < edgesOffset; pad++) {
+            ensure(1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    public void edge(int from, int to, double weight) throws IOException {
+        if (from < 0 || from >= graphVertices || to < 0 || to >= graphVertices)
+            throw new IllegalArgumentException("Edge endpoint out of range in graph " + graphId);
+        ensure(BinaryGraphFormat.EDGE_RECORD_BYTES);
+        buffer.putInt(from).putInt(to).putDouble(weight);
+        graphEdges++;
+    }
+
+    public void endGraph() throws IOException {
+        if (graphStart < 0) throw new IllegalStateException("No graph in progress");
+        if (graphEdges > Integer.MAX_VALUE) throw new IOException("Graph " + graphId + " has too many edges");
+        flush();
+        long sectionBytes = graphEdgesOffset + graphEdges * BinaryGraphFormat.EDGE_RECORD_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.GRAPH_HEADER_BYTES).order(BinaryGraphFormat.ORDER);
+        header.putInt(graphId).putInt(graphVertices).putInt((int) graphEdges).putInt(graphNameBytes).putLong(sectionBytes);
+        header.flip();
+        writeAt(header, graphStart);
+        graphStart = -1;
+        graphCount++;
+    }
+
+    private long position() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (bytes > buffer.capacity()) throw new IOException("Vertex name longer than the write buffer");
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void writeAt(ByteBuffer bytes, long offset) throws IOException {
+        while (bytes.hasRemaining()) channel.write(bytes, offset + bytes.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (graphStart >= 0) endGraph();
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(4).order(BinaryGraphFormat.ORDER).putInt(0, graphCount);
+            writeAt(count, 8);
+        } finally {
+            channel.close();
+        }
+    }
+}
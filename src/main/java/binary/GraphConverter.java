@@ -0,0 +1,36 @@
+package binary;
+
+import graph.Graph;
+import json.JsonReader;
+
+import java.util.stream.Stream;
+
+/**
+ * Converts a JSON input file into the binary container.
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass="binary.GraphConverter" -Dexec.args="data/input/input.json data/input/input.mstg"
+ * </pre>
+ */
+public class GraphConverter {
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: GraphConverter <input.json> <output" + BinaryGraphFormat.EXTENSION + ">");
+            System.exit(2);
+        }
+        int count = convert(args[0], args[1]);
+        System.out.println("Wrote " + count + " graphs to " + args[1]);
+    }
+
+    public static int convert(String jsonPath, String binaryPath) throws Exception {
+        int count = 0;
+        try (Stream<Graph> graphs = JsonReader.streamGraphs(jsonPath);
+             BinaryGraphWriter writer = new BinaryGraphWriter(binaryPath)) {
+            for (Graph g : (Iterable<Graph>) graphs::iterator) {
+                writer.write(g.getCompact());
+                count++;
+            }
+        }
+        return count;
+    }
+}
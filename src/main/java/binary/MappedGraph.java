@@ -0,0 +1,134 @@
+package binary;
+
+import graph.Adjacency;
+import graph.CompactGraph;
+import graph.EdgeList;
+import graph.SymbolTable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One graph section read through a memory-mapped buffer. Endpoints and weights are
+ * read straight from the mapping, so Kruskal and Prim solve it without a heap copy of
+ * the edge list; {@link #toCompact()} copies it only for callers that need the arrays.
+ * Construction checks the section size and the name offsets but never touches the
+ * edge records; their endpoints are checked by {@link #validate()} and by the copy.
+ * Names are decoded on first use and kept.
+ */
+public class MappedGraph implements EdgeList {
+    private final int id;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final ByteBuffer buffer;
+    private final int namesBase;
+    private final int edgesBase;
+    private final SymbolTable symbols;
+
+    // Decoded names; a race only decodes the same immutable String twice.
+    private final String[] names;
+
+    private volatile Adjacency adjacency;
+    private CompactGraph compact;
+
+    MappedGraph(int id, int vertexCount, int edgeCount, int nameBytes, ByteBuffer buffer, SymbolTable symbols) {
+        this.id = id;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.buffer = buffer.order(BinaryGraphFormat.ORDER);
+        this.namesBase = 4 * (vertexCount + 1);
+        this.edgesBase = BinaryGraphFormat.edgesOffset(vertexCount, nameBytes);
+        this.symbols = symbols;
+        if (vertexCount < 0 || edgeCount < 0 || nameBytes < 0)
+            throw new IllegalArgumentException("Graph " + id + " has a negative count in its header");
+        long needed = ((4L * (vertexCount + 1) + nameBytes + 7) & ~7L) + (long) edgeCount * BinaryGraphFormat.EDGE_RECORD_BYTES;
+        if (needed > buffer.capacity())
+            throw new IllegalArgumentException("Graph " + id + " needs " + needed + " bytes but its section has " + buffer.capacity());
+        int previous = 0;
+        for (int v = 0; v <= vertexCount; v++) {
+            int offset = this.buffer.getInt(4 * v);
+            if (offset < previous || (v == 0 && offset != 0) || (v == vertexCount && offset != nameBytes))
+                throw new IllegalArgumentException("Name offset " + v + " of graph " + id + " is out of order or out of range");
+            previous = offset;
+        }
+        this.names = new String[vertexCount];
+    }
+
+    /** Checks every edge endpoint, which reads all edge records; returns this graph. */
+    public MappedGraph validate() {
+        for (int e = 0; e < edgeCount; e++) checkEndpoints(e, from(e), to(e));
+        return this;
+    }
+
+    private void checkEndpoints(int e, int u, int v) {
+        if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount)
+            throw new IllegalArgumentException("Edge " + e + " of graph " + id + " has an endpoint out of range");
+    }
+
+    @Override public int getId() { return id; }
+    @Override public int vertexCount() { return vertexCount; }
+    @Override public int edgeCount() { return edgeCount; }
+
+    @Override public int from(int e) { return buffer.getInt(edgesBase + e * BinaryGraphFormat.EDGE_RECORD_BYTES); }
+    @Override public int to(int e) { return buffer.getInt(edgesBase + e * BinaryGraphFormat.EDGE_RECORD_BYTES + 4); }
+    @Override public double weight(int e) { return buffer.getDouble(edgesBase + e * BinaryGraphFormat.EDGE_RECORD_BYTES + 8); }
+
+    @Override
+    public String name(int v) {
+        String name = names[v];
+        if (name == null) {
+            int start = buffer.getInt(4 * v);
+            byte[] bytes = new byte[buffer.getInt(4 * (v + 1)) - start];
+            buffer.get(namesBase + start, bytes);
+            names[v] = name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return name;
+    }
+
+    /** CSR adjacency built from the mapped edge records on first use. */
+    @Override
+    public Adjacency adjacency() {
+        Adjacency a = adjacency;
+        if (a == null) {
+            synchronized (this) {
+                a = adjacency;
+                if (a == null) adjacency = a = Adjacency.of(this);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Copies the graph to the heap on first call and caches it, interning its names
+     * into the reader's shared pool when there is one. Endpoints are checked as they
+     * are copied.
+     */
+    @Override
+    public synchronized CompactGraph toCompact() {
+        if (compact == null) compact = copy();
+        return compact;
+    }
+
+    private CompactGraph copy() {
+        String[] names = new String[vertexCount];
+        for (int v = 0; v < vertexCount; v++) names[v] = name(v);
+        if (symbols != null) {
+            // Copies can run on worker threads, so interning into the shared pool is serialized.
+            synchronized (symbols) {
+                for (int v = 0; v < vertexCount; v++) names[v] = symbols.name(symbols.intern(names[v]));
+            }
+            System.arraycopy(names, 0, this.names, 0, vertexCount);
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        double[] weight = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int base = edgesBase + e * BinaryGraphFormat.EDGE_RECORD_BYTES;
+            from[e] = buffer.getInt(base);
+            to[e] = buffer.getInt(base + 4);
+            weight[e] = buffer.getDouble(base + 8);
+            checkEndpoints(e, from[e], to[e]);
+        }
+        return new CompactGraph(id, names, from, to, weight);
+    }
+}
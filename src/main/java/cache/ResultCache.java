@@ -0,0 +1,249 @@
+package cache;
+
+import algorithms.Algorithm;
+import graph.*;
+import metrics.ForestComponent;
+import metrics.Metrics;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent on-disk cache of MST results. The key is a SHA-256 of the graph's
+ * vertex names and edge arrays plus the algorithm name, so an unchanged graph costs
+ * one hash and one file read. Entries are evicted least-recently-used once the
+ * directory exceeds {@code maxBytes}; recency survives restarts through file
+ * modification times. Safe to share between pipeline workers.
+ */
+public class ResultCache {
+    private static final int MAGIC = 0x4D535443; // "MSTC"
+    private static final int VERSION = 3;
+    private static final String SUFFIX = ".bin";
+
+    private final Path dir;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ResultCache(String directory, long maxBytes) throws IOException {
+        this.dir = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path p : stream) files.add(p);
+        }
+        files.sort(Comparator.comparingLong(p -> p.toFile().lastModified()));
+        for (Path p : files) {
+            long size = Files.size(p);
+            entries.put(keyOf(p), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    /**
+     * Returns the cached result for this graph and algorithm, computing and storing it on
+     * a miss. A hit is marked cached and reports the time of the lookup, key included.
+     */
+    public Metrics run(Algorithm algorithm, Graph graph) {
+        long start = System.nanoTime();
+        String key = key(graph, algorithm);
+        Metrics cached = load(key, graph.getId());
+        if (cached != null) {
+            cached.markCached((System.nanoTime() - start) / 1_000_000.0);
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        Metrics computed = algorithm.run(graph);
+        store(key, computed);
+        return computed;
+    }
+
+    public long hits() { return hits.get(); }
+    public long misses() { return misses.get(); }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long sizeBytes() { return totalBytes; }
+
+    /** SHA-256 over vertex names, endpoints and weight bits, followed by the algorithm name. */
+    public static String key(Graph graph, Algorithm algorithm) {
+        EdgeList g = graph.getEdgeList();
+        MessageDigest digest = sha256();
+        ByteBuffer buf = ByteBuffer.allocate(1 << 14);
+        buf.putInt(g.vertexCount()).putInt(g.edgeCount());
+        for (int v = 0; v < g.vertexCount(); v++) {
+            byte[] name = g.name(v).getBytes(StandardCharsets.UTF_8);
+            if (buf.remaining() < 4 + name.length) drain(digest, buf);
+            buf.putInt(name.length);
+            if (name.length > buf.remaining()) {
+                drain(digest, buf);
+                digest.update(name);
+            } else {
+                buf.put(name);
+            }
+        }
+        for (int e = 0; e < g.edgeCount(); e++) {
+            if (buf.remaining() < 16) drain(digest, buf);
+            buf.putInt(g.from(e)).putInt(g.to(e)).putLong(Double.doubleToLongBits(g.weight(e)));
+        }
+        drain(digest, buf);
+        digest.update(algorithm.name().getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return hex.toString();
+    }
+
+    private static void drain(MessageDigest digest, ByteBuffer buf) {
+        buf.flip();
+        digest.update(buf);
+        buf.clear();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Metrics load(String key, int graphId) {
+        synchronized (this) {
+            if (entries.get(key) == null) return null;
+        }
+        Path file = dir.resolve(key + SUFFIX);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            String algorithm = readString(in);
+            int vertices = in.readInt();
+            int edges = in.readInt();
+            double totalCost = in.readDouble();
+            long operations = in.readLong();
+            boolean connected = in.readBoolean();
+            long finds = in.readLong();
+            long unions = in.readLong();
+            List<Edge> mstEdges = readEdges(in);
+
+            Metrics m = new Metrics(algorithm, graphId, vertices, edges, totalCost, operations, 0, connected, mstEdges);
+            m.setUnionFindCounts(finds, unions);
+            int components = in.readInt();
+            if (components >= 0) {
+                List<ForestComponent> list = new ArrayList<>(components);
+                for (int c = 0; c < components; c++) list.add(new ForestComponent(in.readInt(), in.readDouble(), readEdges(in)));
+                m.setComponents(list);
+            }
+            file.toFile().setLastModified(System.currentTimeMillis());
+            return m;
+        } catch (IOException e) {
+            forget(key);
+            return null;
+        }
+    }
+
+    private void store(String key, Metrics m) {
+        Path file = dir.resolve(key + SUFFIX);
+        Path tmp = dir.resolve(key + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, m.getAlgorithm());
+                out.writeInt(m.getVertices());
+                out.writeInt(m.getEdges());
+                out.writeDouble(m.getTotalCost());
+                out.writeLong(m.getOperations());
+                out.writeBoolean(m.isConnected());
+                out.writeLong(m.getFinds());
+                out.writeLong(m.getUnions());
+                writeEdges(out, m.getMstEdges());
+                List<ForestComponent> components = m.getComponents();
+                out.writeInt(components == null ? -1 : components.size());
+                if (components != null) {
+                    for (ForestComponent c : components) {
+                        out.writeInt(c.getVertices());
+                        out.writeDouble(c.getTotalCost());
+                        writeEdges(out, c.getMstEdges());
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(file);
+            synchronized (this) {
+                Long previous = entries.put(key, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evict();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not cache result " + key + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static List<Edge> readEdges(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Edge> edges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) edges.add(new Edge(readString(in), readString(in), in.readDouble()));
+        return edges;
+    }
+
+    private static void writeEdges(DataOutputStream out, List<Edge> edges) throws IOException {
+        out.writeInt(edges.size());
+        for (Edge e : edges) {
+            writeString(out, e.getFrom());
+            writeString(out, e.getTo());
+            out.writeDouble(e.getWeight());
+        }
+    }
+
+    /** Length-prefixed UTF-8; unlike writeUTF it has no 64 KB limit on the encoded name. */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private synchronized void forget(String key) {
+        Long size = entries.remove(key);
+        if (size != null) totalBytes -= size;
+    }
+
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(dir.resolve(eldest.getKey() + SUFFIX));
+            } catch (IOException e) {
+                System.err.println("Could not evict cache entry " + eldest.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+}
@@ -0,0 +1,55 @@
+package generator;
+
+import binary.BinaryGraphFormat;
+import binary.BinaryGraphWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams generated graphs into either input format without materializing them:
+ * the binary container for paths ending in {@value BinaryGraphFormat#EXTENSION},
+ * {"graphs": [...]} JSON otherwise.
+ */
+public class GeneratedGraphWriter {
+
+    public static void write(String path, List<GraphGenerator> graphs) throws IOException {
+        if (path.endsWith(BinaryGraphFormat.EXTENSION)) writeBinary(path, graphs);
+        else writeJson(path, graphs);
+    }
+
+    public static void writeBinary(String path, List<GraphGenerator> graphs) throws IOException {
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(path)) {
+            int id = 1;
+            for (GraphGenerator g : graphs) {
+                writer.beginGraph(id++, g.names());
+                g.generate(writer::edge);
+                writer.endGraph();
+            }
+        }
+    }
+
+    public static void writeJson(String path, List<GraphGenerator> graphs) throws IOException {
+        try (com.google.gson.stream.JsonWriter out = new com.google.gson.stream.JsonWriter(
+                new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8), 1 << 16))) {
+            out.beginObject().name("graphs").beginArray();
+            int id = 1;
+            for (GraphGenerator g : graphs) {
+                out.beginObject().name("id").value(id++);
+                out.name("nodes").beginArray();
+                for (int v = 0; v < g.getVertices(); v++) out.value(GraphGenerator.name(v));
+                out.endArray();
+                out.name("edges").beginArray();
+                g.generate((u, v, w) -> {
+                    out.beginObject().name("from").value(GraphGenerator.name(u)).name("to").value(GraphGenerator.name(v)).name("weight");
+                    if (w == Math.rint(w) && Math.abs(w) < 1e15) out.value((long) w);
+                    else out.value(w);
+                    out.endObject();
+                });
+                out.endArray().endObject();
+            }
+            out.endArray().endObject();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package generator;
+
+import graph.CompactGraph;
+import graph.EdgeSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Seeded, reproducible random graphs. Edges are produced one at a time into an
+ * {@link EdgeSink} with O(V) working memory, so files with tens of millions of edges
+ * can be written without building the graph; {@link #toCompact} collects them when
+ * the graph is needed in memory. Vertices are named N1..Nv like the input files.
+ */
+public class GraphGenerator {
+    public static final int DEFAULT_MAX_WEIGHT = 100;
+
+    private final GraphModel model;
+    private final int vertices;
+    private final long edges;
+    private final long seed;
+    private final int maxWeight;
+
+    /**
+     * @param edges target edge count: exact for ERDOS_RENYI (at least V-1), expected
+     *              for GEOMETRIC, the total for GRID (lattice edges plus random diagonal
+     *              shortcuts), edges / V attachments per vertex for POWER_LAW; ignored for COMPLETE
+     */
+    public GraphGenerator(GraphModel model, int vertices, long edges, long seed) {
+        this(model, vertices, edges, seed, DEFAULT_MAX_WEIGHT);
+    }
+
+    public GraphGenerator(GraphModel model, int vertices, long edges, long seed, int maxWeight) {
+        if (vertices < 1) throw new IllegalArgumentException("A graph needs at least one vertex");
+        if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive");
+        this.model = model;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.seed = seed;
+        this.maxWeight = maxWeight;
+    }
+
+    /** Edge count for a given density, i.e. density * V(V-1)/2. */
+    public static long edgesForDensity(int vertices, double density) {
+        return Math.round(density * vertices * (vertices - 1L) / 2);
+    }
+
+    public GraphModel getModel() { return model; }
+    public int getVertices() { return vertices; }
+
+    public static String name(int v) { return "N" + (v + 1); }
+
+    public String[] names() {
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) names[v] = name(v);
+        return names;
+    }
+
+    /** Number of edges {@link #generate} will emit (an estimate for GEOMETRIC). */
+    public long expectedEdges() {
+        long n = vertices;
+        switch (model) {
+            case ERDOS_RENYI: return Math.max(n - 1, edges);
+            case COMPLETE: return n * (n - 1) / 2;
+            case GRID: return gridEdges() + Math.max(0, edges - gridEdges());
+            case POWER_LAW: {
+                long k = attachments();
+                return k * (k + 1) / 2 + (n - Math.min(n, k + 1)) * k;
+            }
+            default: return edges;
+        }
+    }
+
+    public CompactGraph toCompact(int id) {
+        long expected = expectedEdges();
+        if (expected > Integer.MAX_VALUE / 2) throw new IllegalArgumentException("Too many edges for an in-memory graph: " + expected);
+        int[][] ends = {new int[(int) Math.max(16, expected)], new int[(int) Math.max(16, expected)]};
+        double[][] weights = {new double[(int) Math.max(16, expected)]};
+        int[] count = {0};
+        try {
+            generate((u, v, w) -> {
+                int e = count[0]++;
+                if (e == weights[0].length) {
+                    int grown = e + (e >> 1);
+                    ends[0] = Arrays.copyOf(ends[0], grown);
+                    ends[1] = Arrays.copyOf(ends[1], grown);
+                    weights[0] = Arrays.copyOf(weights[0], grown);
+                }
+                ends[0][e] = u;
+                ends[1][e] = v;
+                weights[0][e] = w;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int m = count[0];
+        return new CompactGraph(id, names(), Arrays.copyOf(ends[0], m), Arrays.copyOf(ends[1], m), Arrays.copyOf(weights[0], m));
+    }
+
+    public void generate(EdgeSink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        switch (model) {
+            case ERDOS_RENYI: erdosRenyi(random, sink); break;
+            case GEOMETRIC: geometric(random, sink); break;
+            case GRID: grid(random, sink); break;
+            case COMPLETE: complete(random, sink); break;
+            case POWER_LAW: powerLaw(random, sink); break;
+        }
+    }
+
+    private double weight(SplittableRandom random) {
+        return 1 + random.nextInt(maxWeight);
+    }
+
+    private void erdosRenyi(SplittableRandom random, EdgeSink sink) throws IOException {
+        int n = vertices;
+        for (int v = 1; v < n; v++) sink.edge(random.nextInt(v), v, weight(random));
+        if (n < 2) return;
+        for (long e = n - 1; e < edges; e++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 1);
+            sink.edge(u, v >= u ? v + 1 : v, weight(random));
+        }
+    }
+
+    private void geometric(SplittableRandom random, EdgeSink sink) throws IOException {
+        int n = vertices;
+        double degree = 2.0 * edges / n;
+        double radius = Math.min(Math.sqrt(2), Math.sqrt(degree / (Math.PI * n)));
+        int cells = (int) Math.max(1, Math.min(Math.floor(1 / radius), Math.sqrt(n)));
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int[] cellOf = new int[n];
+        int[] start = new int[cells * cells + 1];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+            cellOf[i] = cell(y[i], cells) * cells + cell(x[i], cells);
+            start[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) start[c + 1] += start[c];
+        int[] next = Arrays.copyOf(start, cells * cells);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[next[cellOf[i]]++] = i;
+
+        double r2 = radius * radius;
+        for (int i = 0; i < n; i++) {
+            int cx = cellOf[i] % cells, cy = cellOf[i] / cells;
+            for (int gy = Math.max(0, cy - 1); gy <= Math.min(cells - 1, cy + 1); gy++) {
+                for (int gx = Math.max(0, cx - 1); gx <= Math.min(cells - 1, cx + 1); gx++) {
+                    int c = gy * cells + gx;
+                    for (int k = start[c]; k < start[c + 1]; k++) {
+                        int j = order[k];
+                        if (j <= i) continue;
+                        double dx = x[i] - x[j], dy = y[i] - y[j];
+                        double d2 = dx * dx + dy * dy;
+                        if (d2 <= r2) sink.edge(i, j, Math.sqrt(d2));
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+
+    private long gridEdges() {
+        long n = vertices;
+        long width = (long) Math.ceil(Math.sqrt(n));
+        long full = n / width, rest = n % width;
+        long horizontal = full * (width - 1) + Math.max(0, rest - 1);
+        long vertical = n - width;
+        return horizontal + Math.max(0, vertical);
+    }
+
+    private void grid(SplittableRandom random, EdgeSink sink) throws IOException {
+        int n = vertices;
+        int width = (int) Math.ceil(Math.sqrt(n));
+        for (int v = 0; v < n; v++) {
+            if ((v + 1) % width != 0 && v + 1 < n) sink.edge(v, v + 1, weight(random));
+            if (v + width < n) sink.edge(v, v + width, weight(random));
+        }
+        long shortcuts = Math.max(0, edges - gridEdges());
+        if (n <= width + 1) return;
+        for (long s = 0; s < shortcuts; s++) {
+            int v = random.nextInt(n - width - 1);
+            boolean right = v % width != width - 1;
+            int u = right ? v + width + 1 : v + width - 1;
+            sink.edge(v, u, weight(random));
+        }
+    }
+
+    private void complete(SplittableRandom random, EdgeSink sink) throws IOException {
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) sink.edge(u, v, weight(random));
+        }
+    }
+
+    private int attachments() {
+        return (int) Math.max(1, Math.min(vertices - 1, Math.round((double) edges / vertices)));
+    }
+
+    private void powerLaw(SplittableRandom random, EdgeSink sink) throws IOException {
+        int n = vertices;
+        int k = attachments();
+        long expected = expectedEdges();
+        if (2 * expected > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many edges for preferential attachment: " + expected);
+        int[] endpoints = new int[(int) (2 * expected)];
+        int size = 0;
+        int[] chosen = new int[k];
+
+        for (int v = 1; v < n; v++) {
+            int picks = Math.min(k, v);
+            int count = 0;
+            if (v <= k) {
+                for (int u = 0; u < v; u++) chosen[count++] = u;
+            } else {
+                while (count < picks) {
+                    int u = endpoints[random.nextInt(size)];
+                    boolean duplicate = false;
+                    for (int i = 0; i < count && !duplicate; i++) duplicate = chosen[i] == u;
+                    if (!duplicate) chosen[count++] = u;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                sink.edge(chosen[i], v, weight(random));
+                endpoints[size++] = chosen[i];
+                endpoints[size++] = v;
+            }
+        }
+    }
+}
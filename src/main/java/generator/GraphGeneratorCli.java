@@ -0,0 +1,47 @@
+package generator;
+
+import java.util.*;
+
+/**
+ * Writes generated graphs to a JSON or binary input file.
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass="generator.GraphGeneratorCli" \
+ *     -Dexec.args="--model er --vertices 1000000 --edges 8000000 --seed 1 --count 1 --out data/input/er_1m.mstg"
+ * </pre>
+ *
+ * Models: er (erdos_renyi), geometric, grid, complete, power_law (ba). Graph i of
+ * --count uses seed + i.
+ */
+public class GraphGeneratorCli {
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) usage("Unexpected argument " + args[i]);
+            opts.put(args[i].substring(2), args[i + 1]);
+        }
+        if (!opts.containsKey("vertices") || !opts.containsKey("out")) usage("--vertices and --out are required");
+
+        GraphModel model = GraphModel.fromName(opts.getOrDefault("model", "er"));
+        int vertices = Integer.parseInt(opts.get("vertices"));
+        long edges = Long.parseLong(opts.getOrDefault("edges", String.valueOf(4L * vertices)));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "1"));
+        int count = Integer.parseInt(opts.getOrDefault("count", "1"));
+        int maxWeight = Integer.parseInt(opts.getOrDefault("max-weight", String.valueOf(GraphGenerator.DEFAULT_MAX_WEIGHT)));
+
+        List<GraphGenerator> graphs = new ArrayList<>();
+        for (int i = 0; i < count; i++) graphs.add(new GraphGenerator(model, vertices, edges, seed + i, maxWeight));
+
+        long start = System.nanoTime();
+        GeneratedGraphWriter.write(opts.get("out"), graphs);
+        System.out.printf(Locale.US, "Wrote %d %s graph(s) with ~%d edges each to %s in %.1f s%n",
+                count, model, graphs.get(0).expectedEdges(), opts.get("out"), (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: GraphGeneratorCli --vertices N --out FILE [--model er|geometric|grid|complete|power_law]"
+                + " [--edges M] [--seed S] [--count K] [--max-weight W]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,26 @@
+package generator;
+
+import java.util.Locale;
+
+/** Random graph families supported by {@link GraphGenerator}. */
+public enum GraphModel {
+    /** G(n, m): a random spanning tree plus uniformly random extra edges. */
+    ERDOS_RENYI,
+    /** Random points in the unit square joined when closer than a radius; weights are distances. */
+    GEOMETRIC,
+    /** Road-network-like lattice: 4-neighbour grid with a few random diagonal shortcuts. */
+    GRID,
+    /** Every pair of vertices. */
+    COMPLETE,
+    /** Barabási–Albert preferential attachment, giving a power-law degree distribution. */
+    POWER_LAW;
+
+    public static GraphModel fromName(String name) {
+        String key = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        switch (key) {
+            case "ER": return ERDOS_RENYI;
+            case "BA": return POWER_LAW;
+            default: return valueOf(key);
+        }
+    }
+}
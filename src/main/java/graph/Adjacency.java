@@ -0,0 +1,60 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * CSR form of an undirected edge list: the neighbours of vertex v live in slots
+ * offsets[v] .. offsets[v+1]-1, and every edge appears once from each endpoint with
+ * its weight and edge index.
+ */
+public final class Adjacency {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edges;
+
+    /** Builds the CSR from any edge list, for implementations outside this package. */
+    public static Adjacency of(EdgeList graph) {
+        return new Adjacency(graph);
+    }
+
+    Adjacency(EdgeList graph) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[graph.from(e) + 1]++;
+            offsets[graph.to(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+
+        targets = new int[2 * m];
+        weights = new double[2 * m];
+        edges = new int[2 * m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int u = graph.from(e), v = graph.to(e);
+            double w = graph.weight(e);
+            int a = next[u]++;
+            targets[a] = v;
+            weights[a] = w;
+            edges[a] = e;
+            int b = next[v]++;
+            targets[b] = u;
+            weights[b] = w;
+            edges[b] = e;
+        }
+    }
+
+    public int[] getOffsets() { return offsets; }
+    public int[] getTargets() { return targets; }
+    public double[] getWeights() { return weights; }
+    public int[] getEdges() { return edges; }
+
+    public int degree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    /** Approximate retained size in bytes of the CSR arrays for n vertices and m edges. */
+    static long estimateBytes(int n, int m) {
+        return MemoryEstimate.intArray(n + 1) + MemoryEstimate.intArray(2 * m) * 2 + MemoryEstimate.doubleArray(2 * m);
+    }
+}
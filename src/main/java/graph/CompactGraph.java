@@ -0,0 +1,123 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Index-based view of a graph. Vertices are interned to ids 0..n-1, edges are kept
+ * in parallel primitive arrays and the undirected adjacency is stored in CSR form:
+ * the neighbours of vertex v live in slots offsets[v] .. offsets[v+1]-1. The CSR is
+ * built on first use, so edge-list algorithms such as Kruskal never pay for it.
+ */
+public class CompactGraph implements EdgeList {
+    private final int id;
+    private final String[] names;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+
+    private volatile Adjacency adjacency;
+
+    public CompactGraph(int id, String[] names, int[] from, int[] to, double[] weight) {
+        this.id = id;
+        this.names = names;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    public static CompactGraph of(Graph graph) {
+        List<String> nodes = graph.getNodes();
+        List<Edge> edges = graph.getEdges();
+
+        Map<String, Integer> index = new HashMap<>(nodes.size() * 2);
+        String[] names = new String[nodes.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = nodes.get(i);
+            index.put(names[i], i);
+        }
+
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weight = new double[m];
+        for (int e = 0; e < m; e++) {
+            Edge edge = edges.get(e);
+            Integer u = index.get(edge.getFrom());
+            Integer v = index.get(edge.getTo());
+            if (u == null || v == null)
+                throw new IllegalArgumentException("Edge " + edge + " references an unknown vertex in graph " + graph.getId());
+            from[e] = u;
+            to[e] = v;
+            weight[e] = edge.getWeight();
+        }
+        return new CompactGraph(graph.getId(), names, from, to, weight);
+    }
+
+    public int getId() { return id; }
+    public int vertexCount() { return names.length; }
+    public int edgeCount() { return from.length; }
+
+    public String name(int v) { return names[v]; }
+    public int from(int e) { return from[e]; }
+    public int to(int e) { return to[e]; }
+    public double weight(int e) { return weight[e]; }
+
+    public String[] getNames() { return names; }
+    public int[] getFrom() { return from; }
+    public int[] getTo() { return to; }
+    public double[] getWeights() { return weight; }
+
+    public int[] getOffsets() { return adjacency().getOffsets(); }
+    public int[] getTargets() { return adjacency().getTargets(); }
+    public double[] getAdjWeights() { return adjacency().getWeights(); }
+    public int[] getAdjEdges() { return adjacency().getEdges(); }
+
+    /** Whether the CSR adjacency has been built yet. */
+    public boolean hasAdjacency() { return adjacency != null; }
+
+    /** Builds the CSR adjacency now if no earlier call needed it; later calls return at once. */
+    public void buildAdjacency() {
+        adjacency();
+    }
+
+    @Override
+    public Adjacency adjacency() {
+        Adjacency a = adjacency;
+        if (a == null) {
+            synchronized (this) {
+                a = adjacency;
+                if (a == null) adjacency = a = new Adjacency(this);
+            }
+        }
+        return a;
+    }
+
+    @Override
+    public CompactGraph toCompact() { return this; }
+
+    public int degree(int v) {
+        return adjacency().degree(v);
+    }
+
+    @Override
+    public Edge toEdge(int e, int u) {
+        int v = from[e] == u ? to[e] : from[e];
+        return new Edge(names[u], names[v], weight[e]);
+    }
+
+    @Override
+    public Edge toEdge(int e) {
+        return new Edge(names[from[e]], names[to[e]], weight[e]);
+    }
+
+    /** Approximate retained size in bytes, assuming a 64-bit JVM with compressed oops. */
+    public long estimateBytes() {
+        long bytes = 16 + 11 * 4;
+        // Names pooled by a reader are shared with other graphs, so this over-counts them.
+        bytes += MemoryEstimate.strings(names);
+        bytes += MemoryEstimate.intArray(from.length) * 2 + MemoryEstimate.doubleArray(weight.length);
+        // The CSR is counted whether or not it has been built yet, as the size of the full layout.
+        bytes += Adjacency.estimateBytes(names.length, from.length);
+        return bytes;
+    }
+}
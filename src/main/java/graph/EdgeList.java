@@ -0,0 +1,34 @@
+package graph;
+
+/**
+ * Read-only, index-based access to a graph's vertices and edges, whether they live in
+ * heap arrays ({@link CompactGraph}) or in a memory-mapped file section. Algorithms
+ * that only need names, endpoints, weights and the CSR adjacency take this type, so a
+ * mapped graph is solved without first being copied to the heap.
+ */
+public interface EdgeList {
+    int getId();
+    int vertexCount();
+    int edgeCount();
+
+    String name(int v);
+    int from(int e);
+    int to(int e);
+    double weight(int e);
+
+    /** CSR adjacency over these edges, built on first use and cached. */
+    Adjacency adjacency();
+
+    /** Heap copy with the array accessors of {@link CompactGraph}; a CompactGraph returns itself. */
+    CompactGraph toCompact();
+
+    /** Builds the Edge object for edge index e, oriented from u to its other endpoint. */
+    default Edge toEdge(int e, int u) {
+        int v = from(e) == u ? to(e) : from(e);
+        return new Edge(name(u), name(v), weight(e));
+    }
+
+    default Edge toEdge(int e) {
+        return new Edge(name(from(e)), name(to(e)), weight(e));
+    }
+}
@@ -0,0 +1,163 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Cleans an edge list before it is solved: endpoints are put in (smaller id, larger id)
+ * order, self-loops are dropped, and of several edges between the same pair only the
+ * lightest is kept (the first one on equal weights, matching Kruskal's tie order).
+ * Pairs are packed into a long key and deduplicated in an open-addressing
+ * long-to-int table. Large edge lists are split by key hash into shards that are
+ * deduplicated in parallel. Surviving edges keep their relative input order.
+ */
+public final class EdgePreprocessor {
+    /** Edge count from which the shards are processed in parallel. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private EdgePreprocessor() {}
+
+    /** Cleaned graph and what was removed from it. */
+    public static final class Result {
+        private final CompactGraph graph;
+        private final int selfLoops;
+        private final int parallelEdges;
+
+        Result(CompactGraph graph, int selfLoops, int parallelEdges) {
+            this.graph = graph;
+            this.selfLoops = selfLoops;
+            this.parallelEdges = parallelEdges;
+        }
+
+        public CompactGraph graph() { return graph; }
+        public int selfLoops() { return selfLoops; }
+        public int parallelEdges() { return parallelEdges; }
+        public int eliminated() { return selfLoops + parallelEdges; }
+    }
+
+    public static Result run(CompactGraph graph) {
+        return run(graph, PARALLEL_THRESHOLD);
+    }
+
+    public static Result run(CompactGraph graph, int parallelThreshold) {
+        int m = graph.edgeCount();
+        int[] from = graph.getFrom(), to = graph.getTo();
+        double[] weight = graph.getWeights();
+        boolean parallel = m >= parallelThreshold;
+
+        long[] keys = new long[m];
+        (parallel ? IntStream.range(0, m).parallel() : IntStream.range(0, m)).forEach(e -> {
+            int u = from[e], v = to[e];
+            keys[e] = u == v ? -1 : pair(Math.min(u, v), Math.max(u, v));
+        });
+
+        // Bucket edge ids by shard; ids stay ascending within a shard so ties keep the first edge.
+        int shardBits = parallel ? 32 - Integer.numberOfLeadingZeros(4 * ForkJoinPool.commonPool().getParallelism() - 1) : 0;
+        int shards = 1 << shardBits;
+        int[] start = new int[shards + 1];
+        int selfLoops = 0;
+        for (int e = 0; e < m; e++) {
+            if (keys[e] < 0) selfLoops++;
+            else start[shard(keys[e], shardBits) + 1]++;
+        }
+        for (int s = 0; s < shards; s++) start[s + 1] += start[s];
+        int[] bucketed = new int[start[shards]];
+        int[] next = Arrays.copyOf(start, shards);
+        for (int e = 0; e < m; e++) if (keys[e] >= 0) bucketed[next[shard(keys[e], shardBits)]++] = e;
+
+        boolean[] keep = new boolean[m];
+        (parallel ? IntStream.range(0, shards).parallel() : IntStream.range(0, shards)).forEach(s -> {
+            LongIntTable kept = new LongIntTable(start[s + 1] - start[s], shardBits);
+            for (int i = start[s]; i < start[s + 1]; i++) {
+                int e = bucketed[i];
+                int previous = kept.putIfAbsent(keys[e], e);
+                if (previous < 0) {
+                    keep[e] = true;
+                } else if (weight[e] < weight[previous]) {
+                    keep[previous] = false;
+                    keep[e] = true;
+                    kept.put(keys[e], e);
+                }
+            }
+        });
+
+        int survivors = 0;
+        boolean canonical = true;
+        for (int e = 0; e < m; e++) {
+            if (!keep[e]) continue;
+            survivors++;
+            canonical &= from[e] < to[e];
+        }
+        int parallelEdges = m - selfLoops - survivors;
+        if (survivors == m && canonical) return new Result(graph, 0, 0);
+
+        int[] newFrom = new int[survivors], newTo = new int[survivors];
+        double[] newWeight = new double[survivors];
+        for (int e = 0, i = 0; e < m; e++) {
+            if (!keep[e]) continue;
+            newFrom[i] = Math.min(from[e], to[e]);
+            newTo[i] = Math.max(from[e], to[e]);
+            newWeight[i++] = weight[e];
+        }
+        CompactGraph cleaned = new CompactGraph(graph.getId(), graph.getNames(), newFrom, newTo, newWeight);
+        return new Result(cleaned, selfLoops, parallelEdges);
+    }
+
+    static long pair(int u, int v) {
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+
+    private static long mix(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int shard(long key, int bits) {
+        return bits == 0 ? 0 : (int) (mix(key) >>> (64 - bits));
+    }
+
+    /**
+     * Open-addressing map from non-negative long keys to int values, linear probing.
+     * Slots come from the hash bits below the {@code usedBits} that picked the shard,
+     * which are the same for every key in it.
+     */
+    private static final class LongIntTable {
+        private final long[] keys;
+        private final int[] values;
+        private final int usedBits;
+        private final int shift;
+
+        LongIntTable(int expected, int usedBits) {
+            this.usedBits = usedBits;
+            int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, -1);
+            shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        /** Stores the value if the key is new and returns -1, otherwise returns the existing value. */
+        int putIfAbsent(long key, int value) {
+            int mask = keys.length - 1;
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+                if (keys[i] < 0) {
+                    keys[i] = key;
+                    values[i] = value;
+                    return -1;
+                }
+            }
+        }
+
+        private int slot(long key) {
+            return (int) ((mix(key) << usedBits) >>> shift);
+        }
+
+        void put(long key, int value) {
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != key) i = (i + 1) & mask;
+            values[i] = value;
+        }
+    }
+}
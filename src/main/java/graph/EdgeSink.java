@@ -0,0 +1,9 @@
+package graph;
+
+import java.io.IOException;
+
+/** Receives generated edges one at a time, so large graphs never have to be held in memory. */
+@FunctionalInterface
+public interface EdgeSink {
+    void edge(int from, int to, double weight) throws IOException;
+}
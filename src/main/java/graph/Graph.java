@@ -6,6 +6,9 @@ public class Graph {
     private int id;
     private List<String> nodes;
     private List<Edge> edges;
+    private CompactGraph compact;
+    private EdgeList source;
+    private Map<String, List<Edge>> adjacency;
 
     public Graph(int id, List<String> nodes, List<Edge> edges) {
         this.id = id;
@@ -13,17 +16,89 @@ public class Graph {
         this.edges = edges;
     }
 
+    /** Wraps a compact graph; the node and edge lists are only materialized if asked for. */
+    public Graph(CompactGraph compact) {
+        this.id = compact.getId();
+        this.compact = compact;
+    }
+
+    /**
+     * Wraps an index-based view such as a mapped binary section. Algorithms that read
+     * {@link #getEdgeList()} use it in place; {@link #getCompact()} copies it on first use.
+     */
+    public Graph(EdgeList source) {
+        this.id = source.getId();
+        this.source = source;
+    }
+
     public int getId() { return id; }
-    public List<String> getNodes() { return nodes; }
-    public List<Edge> getEdges() { return edges; }
 
+    public List<String> getNodes() {
+        if (nodes == null) {
+            if (compact != null) {
+                nodes = Arrays.asList(compact.getNames());
+            } else {
+                List<String> list = new ArrayList<>(source.vertexCount());
+                for (int v = 0; v < source.vertexCount(); v++) list.add(source.name(v));
+                nodes = list;
+            }
+        }
+        return nodes;
+    }
+
+    public List<Edge> getEdges() {
+        if (edges == null) {
+            EdgeList view = getEdgeList();
+            List<Edge> list = new ArrayList<>(view.edgeCount());
+            for (int e = 0; e < view.edgeCount(); e++) list.add(view.toEdge(e));
+            edges = list;
+        }
+        return edges;
+    }
+
+    public int vertexCount() {
+        if (compact != null) return compact.vertexCount();
+        return source != null ? source.vertexCount() : nodes.size();
+    }
+
+    public int edgeCount() {
+        if (compact != null) return compact.edgeCount();
+        return source != null ? source.edgeCount() : edges.size();
+    }
+
+    /** Index-based CSR view of this graph, built on first use and cached. */
+    public CompactGraph getCompact() {
+        if (compact == null) compact = source != null ? source.toCompact() : CompactGraph.of(this);
+        return compact;
+    }
+
+    /**
+     * Index-based view for algorithms that only read endpoints, weights and the CSR:
+     * the wrapped source as is when there is one, so a mapped graph is not copied.
+     */
+    public EdgeList getEdgeList() {
+        if (compact != null) return compact;
+        return source != null ? source : getCompact();
+    }
+
+    /** Approximate heap footprint of the List/Edge/String object layout. */
+    public long estimateObjectBytes() {
+        return MemoryEstimate.objectLayout(getNodes(), getEdges());
+    }
+
+    /**
+     * Name-keyed adjacency with reversed Edge copies, built on first use and cached.
+     * The algorithms use {@link #getEdgeList()}, whose CSR stores both directions as slots.
+     */
     public Map<String, List<Edge>> getAdjacencyList() {
+        if (adjacency != null) return adjacency;
         Map<String, List<Edge>> adj = new HashMap<>();
-        for (String node : nodes) adj.put(node, new ArrayList<>());
-        for (Edge e : edges) {
+        for (String node : getNodes()) adj.put(node, new ArrayList<>());
+        for (Edge e : getEdges()) {
             adj.get(e.getFrom()).add(e);
             adj.get(e.getTo()).add(new Edge(e.getTo(), e.getFrom(), e.getWeight()));
         }
+        adjacency = adj;
         return adj;
     }
 }
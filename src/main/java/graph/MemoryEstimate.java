@@ -0,0 +1,44 @@
+package graph;
+
+import java.util.*;
+
+/** Shallow size arithmetic for a 64-bit HotSpot JVM with compressed oops (12-byte headers, 8-byte alignment). */
+final class MemoryEstimate {
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REF = 4;
+
+    private MemoryEstimate() {}
+
+    static long align(long bytes) { return (bytes + 7) & ~7L; }
+
+    static long intArray(int length) { return align(ARRAY_HEADER + 4L * length); }
+    static long doubleArray(int length) { return align(ARRAY_HEADER + 8L * length); }
+    static long refArray(int length) { return align(ARRAY_HEADER + (long) REF * length); }
+
+    /** String object plus its Latin-1 byte[] payload. */
+    static long string(String s) { return align(HEADER + 12) + align(ARRAY_HEADER + s.length()); }
+
+    static long arrayList(int size) { return align(HEADER + 8) + refArray(size); }
+
+    static long edge() { return align(HEADER + 2 * REF + 8); }
+
+    static long strings(String[] names) {
+        long bytes = refArray(names.length);
+        for (String s : names) bytes += string(s);
+        return bytes;
+    }
+
+    /** Nodes list, edge list, Edge objects and every distinct String instance they reference. */
+    static long objectLayout(List<String> nodes, List<Edge> edges) {
+        Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = arrayList(nodes.size()) + arrayList(edges.size());
+        for (String s : nodes) if (seen.add(s)) bytes += string(s);
+        for (Edge e : edges) {
+            bytes += edge();
+            if (seen.add(e.getFrom())) bytes += string(e.getFrom());
+            if (seen.add(e.getTo())) bytes += string(e.getTo());
+        }
+        return bytes;
+    }
+}
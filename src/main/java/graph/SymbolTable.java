@@ -0,0 +1,81 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Pool of vertex names with dense int ids. Readers intern every graph's names into
+ * one pool so repeated labels across graphs cost one reference each instead of a
+ * String per graph; graphs keep only the pooled String instances, never the pool.
+ * Once a pool holds {@link #READER_LIMIT} names the reader starts a new one, so a long
+ * file with ever new labels does not grow it without bound. Lookups use an open-addressing table over the names' cached
+ * hash codes, so no boxed keys or map entries are allocated.
+ *
+ * <p>The table itself is not thread-safe. The JSON reader interns on its own thread;
+ * mapped binary graphs intern when they are copied to the heap, which may happen on
+ * a worker thread, so that path holds the table's monitor while it interns.
+ */
+public class SymbolTable {
+    /** Names a reader's pool may hold before it is replaced; -Dmst.symbolTableMax overrides it. */
+    public static final int READER_LIMIT = Integer.getInteger("mst.symbolTableMax", 1 << 16);
+
+    private String[] names = new String[64];
+    private int[] slots = new int[128];
+    private int size;
+
+    public SymbolTable() {
+        Arrays.fill(slots, -1);
+    }
+
+    /** Returns the id of the name, adding it if it is new. */
+    public int intern(String name) {
+        int mask = slots.length - 1;
+        for (int i = mix(name.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int id = slots[i];
+            if (id < 0) {
+                if (size == names.length) names = Arrays.copyOf(names, size * 2);
+                names[size] = name;
+                slots[i] = size;
+                if (++size * 2 > slots.length) rehash();
+                return size - 1;
+            }
+            if (names[id].equals(name)) return id;
+        }
+    }
+
+    /** Returns the id of the name, or -1 if it was never interned. */
+    public int lookup(String name) {
+        int mask = slots.length - 1;
+        for (int i = mix(name.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int id = slots[i];
+            if (id < 0) return -1;
+            if (names[id].equals(name)) return id;
+        }
+    }
+
+    public String name(int id) { return names[id]; }
+    public int size() { return size; }
+
+    /** Approximate retained size of the pool in bytes. */
+    public long estimateBytes() {
+        long bytes = 16 + MemoryEstimate.refArray(names.length) + MemoryEstimate.intArray(slots.length);
+        for (int i = 0; i < size; i++) bytes += MemoryEstimate.string(names[i]);
+        return bytes;
+    }
+
+    private void rehash() {
+        int[] grown = new int[slots.length * 2];
+        Arrays.fill(grown, -1);
+        int mask = grown.length - 1;
+        for (int id = 0; id < size; id++) {
+            int i = mix(names[id].hashCode()) & mask;
+            while (grown[i] >= 0) i = (i + 1) & mask;
+            grown[i] = id;
+        }
+        slots = grown;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,196 @@
+package json;
+
+import com.google.gson.stream.JsonToken;
+import graph.CompactGraph;
+import graph.Graph;
+import graph.SymbolTable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Pull-based reader for the input format. Graphs are decoded one at a time from
+ * Gson's token stream straight into {@link CompactGraph} arrays, so only the graph
+ * currently being returned is held in memory. Accepts both {"graphs":[...]} and a
+ * bare top-level array. Vertex names are interned into a {@link SymbolTable} shared
+ * with the graphs read before, and edge endpoints are resolved through symbol ids
+ * rather than a per-graph name map. The pool is replaced once it reaches
+ * {@link SymbolTable#READER_LIMIT} names, so memory stays bounded on long files.
+ */
+public class GraphStreamReader implements Iterator<Graph>, Closeable {
+    private final com.google.gson.stream.JsonReader in;
+    private SymbolTable symbols = new SymbolTable();
+    // Local vertex id per symbol, valid where stamp equals the current graph's number.
+    private int[] localOf = new int[64];
+    private int[] stamp = new int[64];
+    private int graphNumber;
+    private boolean wrapped;
+    private boolean finished;
+
+    public GraphStreamReader(String path) throws IOException {
+        this(new BufferedReader(new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    public GraphStreamReader(Reader reader) throws IOException {
+        in = new com.google.gson.stream.JsonReader(reader);
+        openGraphsArray();
+    }
+
+    /** Pool the next graph's names are interned into. */
+    public SymbolTable getSymbols() { return symbols; }
+
+    private void openGraphsArray() throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            return;
+        }
+        if (token == JsonToken.BEGIN_OBJECT) {
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("graphs") && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    wrapped = true;
+                    in.beginArray();
+                    return;
+                }
+                in.skipValue();
+            }
+        }
+        throw new IllegalArgumentException("Invalid JSON structure: expected object with 'graphs' or array.");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) return false;
+        try {
+            if (in.hasNext()) return true;
+            in.endArray();
+            if (wrapped) {
+                while (in.hasNext()) {
+                    in.nextName();
+                    in.skipValue();
+                }
+                in.endObject();
+            }
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            return new Graph(readGraph());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompactGraph readGraph() throws IOException {
+        Integer id = null;
+        String[] names = null;
+        List<String> pendingEndpoints = new ArrayList<>();
+        int[] ends = new int[16];
+        double[] weights = new double[8];
+        int edgeCount = 0;
+        graphNumber++;
+        // Stamps of the old pool's ids are all older than this graph, so they stay stale.
+        if (symbols.size() >= SymbolTable.READER_LIMIT) symbols = new SymbolTable();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    id = in.nextInt();
+                    break;
+                case "nodes":
+                    int n = 0;
+                    names = new String[16];
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        if (n == names.length) names = Arrays.copyOf(names, n * 2);
+                        int symbol = symbols.intern(in.nextString());
+                        names[n] = symbols.name(symbol);
+                        bind(symbol, n++);
+                    }
+                    in.endArray();
+                    names = Arrays.copyOf(names, n);
+                    break;
+                case "edges":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        if (edgeCount == weights.length) {
+                            weights = Arrays.copyOf(weights, edgeCount * 2);
+                            ends = Arrays.copyOf(ends, edgeCount * 4);
+                        }
+                        String from = null, to = null;
+                        double weight = Double.NaN;
+                        in.beginObject();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "from": from = in.nextString(); break;
+                                case "to": to = in.nextString(); break;
+                                case "weight": weight = in.nextDouble(); break;
+                                default: in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                        if (from == null || to == null || Double.isNaN(weight))
+                            throw new IllegalArgumentException("Edge " + edgeCount + " needs 'from', 'to' and 'weight'");
+                        if (names == null) {
+                            pendingEndpoints.add(from);
+                            pendingEndpoints.add(to);
+                        } else {
+                            ends[2 * edgeCount] = resolve(from);
+                            ends[2 * edgeCount + 1] = resolve(to);
+                        }
+                        weights[edgeCount++] = weight;
+                    }
+                    in.endArray();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (id == null || names == null)
+            throw new IllegalArgumentException("Graph object needs 'id' and 'nodes'");
+        for (int i = 0; i < pendingEndpoints.size(); i++) ends[i] = resolve(pendingEndpoints.get(i));
+
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            from[e] = ends[2 * e];
+            to[e] = ends[2 * e + 1];
+        }
+        return new CompactGraph(id, names, from, to, Arrays.copyOf(weights, edgeCount));
+    }
+
+    /** Maps a symbol to a vertex of the graph being read; a repeated node name keeps its last position. */
+    private void bind(int symbol, int vertex) {
+        if (symbol >= localOf.length) {
+            int grown = Math.max(symbol + 1, localOf.length * 2);
+            localOf = Arrays.copyOf(localOf, grown);
+            stamp = Arrays.copyOf(stamp, grown);
+        }
+        localOf[symbol] = vertex;
+        stamp[symbol] = graphNumber;
+    }
+
+    private int resolve(String name) {
+        int symbol = symbols.lookup(name);
+        if (symbol < 0 || symbol >= stamp.length || stamp[symbol] != graphNumber)
+            throw new IllegalArgumentException("Edge references unknown vertex " + name);
+        return localOf[symbol];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -1,53 +1,44 @@
 package json;
 
-import com.google.gson.*;
+import binary.BinaryGraphFormat;
+import binary.BinaryGraphReader;
 import graph.Graph;
-import graph.Edge;
 
-import java.io.FileReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/** Entry point for reading input graphs; accepts JSON or the binary container, detected by magic number. */
 public class JsonReader {
 
     public static List<Graph> readGraphs(String path) throws Exception {
         List<Graph> graphs = new ArrayList<>();
-
-        try (FileReader reader = new FileReader(path)) {
-            JsonElement root = JsonParser.parseReader(reader);
-
-            JsonArray graphsArray;
-            if (root.isJsonObject() && root.getAsJsonObject().has("graphs")) {
-                graphsArray = root.getAsJsonObject().getAsJsonArray("graphs");
-            } else if (root.isJsonArray()) {
-                graphsArray = root.getAsJsonArray();
-            } else {
-                throw new IllegalArgumentException("Invalid JSON structure: expected object with 'graphs' or array.");
-            }
-
-            for (JsonElement gElem : graphsArray) {
-                JsonObject gObj = gElem.getAsJsonObject();
-
-                int id = gObj.get("id").getAsInt();
-                JsonArray nodesArray = gObj.getAsJsonArray("nodes");
-                List<String> nodes = new ArrayList<>();
-                for (JsonElement n : nodesArray)
-                    nodes.add(n.getAsString());
-
-                JsonArray edgesArray = gObj.getAsJsonArray("edges");
-                List<Edge> edges = new ArrayList<>();
-                for (JsonElement e : edgesArray) {
-                    JsonObject edgeObj = e.getAsJsonObject();
-                    String from = edgeObj.get("from").getAsString();
-                    String to = edgeObj.get("to").getAsString();
-                    double weight = edgeObj.get("weight").getAsDouble();
-                    edges.add(new Edge(from, to, weight));
-                }
-
-                Graph g = new Graph(id, nodes, edges);
-                graphs.add(g);
-            }
+        try (Stream<Graph> stream = streamGraphs(path)) {
+            stream.forEach(graphs::add);
         }
-
         return graphs;
     }
+
+    /**
+     * Lazily reads graphs one at a time. The stream must be closed, e.g. with
+     * try-with-resources, to release the underlying file.
+     */
+    public static Stream<Graph> streamGraphs(String path) throws IOException {
+        if (BinaryGraphFormat.isBinary(path)) return stream(new BinaryGraphReader(path));
+        return stream(new GraphStreamReader(path));
+    }
+
+    private static <R extends Iterator<Graph> & Closeable> Stream<Graph> stream(R reader) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
 }
@@ -1,111 +1,272 @@
 package json;
 
-import com.google.gson.*;
 import graph.*;
 import metrics.*;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
 
-public class JsonWriter {
+/**
+ * Streams the results document one graph at a time. Structure and indentation are
+ * written directly; strings and numbers go through a lenient Gson stream writer so
+ * escaping and number formatting match Gson's. MST edges stay on one line each.
+ */
+public class JsonWriter implements Closeable {
+    private static final int BUFFER_CHARS = 1 << 16;
 
-    public static void writeResults(List<Metrics> primResults, List<Metrics> kruskalResults, String outputPath)
-            throws IOException {
-
-        JsonObject root = new JsonObject();
-        JsonArray results = new JsonArray();
+    private final Writer out;
+    private final com.google.gson.stream.JsonWriter values;
+    private int written;
+    private long[] cacheCounters;
+    private long[] preprocessCounters;
+    private SortedMap<String, LatencyHistogram> latencies;
 
-        for (int i = 0; i < primResults.size(); i++) {
-            Metrics prim = primResults.get(i);
-            Metrics kruskal = kruskalResults.get(i);
+    public JsonWriter(String outputPath) throws IOException {
+        this(open(outputPath));
+    }
 
-            JsonObject item = new JsonObject();
-            item.addProperty("graph_id", prim.getGraphId());
+    public JsonWriter(Writer out) throws IOException {
+        this.out = out;
+        this.values = new com.google.gson.stream.JsonWriter(out);
+        this.values.setLenient(true);
+        out.write("{\n  \"results\": [");
+    }
 
-            JsonObject stats = new JsonObject();
-            stats.addProperty("vertices", prim.getVertices());
-            stats.addProperty("edges", prim.getEdges());
-            item.add("input_stats", stats);
+    public static void writeResults(List<Metrics> primResults, List<Metrics> kruskalResults, String outputPath)
+            throws IOException {
+        try (JsonWriter writer = new JsonWriter(outputPath)) {
+            for (int i = 0; i < primResults.size(); i++) {
+                writer.write(primResults.get(i), kruskalResults.get(i));
+            }
+        }
+    }
 
-            item.add("prim", buildAlgorithmBlock(prim));
-            item.add("kruskal", buildAlgorithmBlock(kruskal));
+    /** Appends the result block for one graph. */
+    public void write(Metrics prim, Metrics kruskal) throws IOException {
+        write(List.of(prim, kruskal));
+    }
 
-            results.add(item);
+    /**
+     * Appends the result block for one graph with one entry per algorithm, keyed by
+     * the lower-cased algorithm name. All metrics must belong to the same graph.
+     */
+    public void write(List<Metrics> results) throws IOException {
+        Metrics first = results.get(0);
+        out.write(written++ == 0 ? "\n    {\n" : ",\n    {\n");
+        key(6, "graph_id");
+        values.value(first.getGraphId());
+        out.write(",\n");
+        key(6, "input_stats");
+        out.write("{\n");
+        key(8, "vertices");
+        values.value(first.getVertices());
+        out.write(",\n");
+        key(8, "edges");
+        values.value(first.getEdges());
+        out.write("\n      }");
+        for (Metrics m : results) {
+            out.write(",\n");
+            key(6, m.getAlgorithm().toLowerCase(Locale.ROOT));
+            writeAlgorithmBlock(m);
         }
+        out.write("\n    }");
+    }
 
-        root.add("results", results);
-
-        try (FileWriter writer = new FileWriter(outputPath)) {
-            writer.write(formatJson(root, 0));
+    private void writeAlgorithmBlock(Metrics m) throws IOException {
+        out.write("{\n");
+        key(8, "mst_edges");
+        writeEdges(m.getMstEdges(), 8);
+        out.write(",\n");
+        key(8, "total_cost");
+        values.value(m.getTotalCost());
+        out.write(",\n");
+        key(8, "operations_count");
+        values.value(m.getOperations());
+        out.write(",\n");
+        key(8, "execution_time_ms");
+        values.value(m.getExecutionTimeMs());
+        if (m.isCached()) {
+            out.write(",\n");
+            key(8, "cached");
+            values.value(true);
         }
+        if (!m.getProfile().isEmpty()) writeProfile(m.getProfile());
+        if (m.getComponents() != null) writeComponents(m.getComponents());
+        out.write("\n      }");
     }
 
-    private static JsonObject buildAlgorithmBlock(Metrics m) {
-        JsonObject obj = new JsonObject();
-        JsonArray edges = new JsonArray();
+    /** Non-zero phase times and counters, each as a one-line object. */
+    private void writeProfile(Profile profile) throws IOException {
+        out.write(",\n");
+        key(8, "phases_ms");
+        out.write("{");
+        boolean first = true;
+        for (Phase phase : Phase.values()) {
+            if (profile.nanos(phase) == 0) continue;
+            out.write(first ? "\"" : ", \"");
+            out.write(phase.key());
+            out.write("\":");
+            values.value(profile.millis(phase));
+            first = false;
+        }
+        out.write("},\n");
+        key(8, "counters");
+        out.write("{");
+        first = true;
+        for (Counter counter : Counter.values()) {
+            if (profile.count(counter) == 0) continue;
+            out.write(first ? "\"" : ", \"");
+            out.write(counter.key());
+            out.write("\":");
+            values.value(profile.count(counter));
+            first = false;
+        }
+        out.write("}");
+    }
 
-        for (Edge e : m.getMstEdges()) {
-            JsonObject edge = new JsonObject();
-            edge.addProperty("from", e.getFrom());
-            edge.addProperty("to", e.getTo());
-            edge.addProperty("weight", e.getWeight());
-            edges.add(edge);
+    /** Forest runs add the component count and one cost/edge block per tree. */
+    private void writeComponents(List<ForestComponent> components) throws IOException {
+        out.write(",\n");
+        key(8, "component_count");
+        values.value(components.size());
+        out.write(",\n");
+        key(8, "components");
+        if (components.isEmpty()) {
+            out.write("[\n        ]");
+            return;
+        }
+        out.write("[");
+        for (int c = 0; c < components.size(); c++) {
+            ForestComponent component = components.get(c);
+            out.write(c == 0 ? "\n          {\n" : ",\n          {\n");
+            key(12, "vertices");
+            values.value(component.getVertices());
+            out.write(",\n");
+            key(12, "total_cost");
+            values.value(component.getTotalCost());
+            out.write(",\n");
+            key(12, "mst_edges");
+            writeEdges(component.getMstEdges(), 12);
+            out.write("\n          }");
         }
+        out.write("\n        ]");
+    }
 
-        obj.add("mst_edges", edges);
-        obj.addProperty("total_cost", m.getTotalCost());
-        obj.addProperty("operations_count", m.getOperations());
-        obj.addProperty("execution_time_ms", m.getExecutionTimeMs());
-        return obj;
-    }
-
-    private static String formatJson(JsonElement el, int indent) {
-        StringBuilder sb = new StringBuilder();
-        String pad = "  ".repeat(indent);
-
-        if (el.isJsonObject()) {
-            JsonObject obj = el.getAsJsonObject();
-            sb.append("{\n");
-            int i = 0;
-            for (var e : obj.entrySet()) {
-                sb.append(pad).append("  \"").append(e.getKey()).append("\": ");
-                sb.append(formatJson(e.getValue(), indent + 1));
-                if (++i < obj.size()) sb.append(",");
-                sb.append("\n");
+    /** Writes an edge array with one edge per line, continuation lines indented two more. */
+    private void writeEdges(List<Edge> edges, int indent) throws IOException {
+        if (edges.isEmpty()) {
+            out.write("[\n");
+            pad(indent);
+            out.write("]");
+            return;
+        }
+        out.write("[");
+        for (int j = 0; j < edges.size(); j++) {
+            if (j > 0) {
+                out.write(",\n");
+                pad(indent + 2);
             }
-            sb.append(pad).append("}");
-        } else if (el.isJsonArray()) {
-            JsonArray arr = el.getAsJsonArray();
-            if (!arr.isEmpty() && arr.get(0).isJsonObject() && isSmallObject(arr.get(0).getAsJsonObject())) {
-                sb.append("[");
-                for (int j = 0; j < arr.size(); j++) {
-                    JsonObject o = arr.get(j).getAsJsonObject();
-                    sb.append("{");
-                    int k = 0;
-                    for (var f : o.entrySet()) {
-                        sb.append("\"").append(f.getKey()).append("\":").append(f.getValue());
-                        if (++k < o.size()) sb.append(", ");
-                    }
-                    sb.append("}");
-                    if (j < arr.size() - 1) sb.append(",\n").append(pad).append("  ");
-                }
-                sb.append("]");
-            } else {
-                sb.append("[\n");
-                for (int j = 0; j < arr.size(); j++) {
-                    sb.append(pad).append("  ").append(formatJson(arr.get(j), indent + 1));
-                    if (j < arr.size() - 1) sb.append(",");
-                    sb.append("\n");
-                }
-                sb.append(pad).append("]");
+            Edge e = edges.get(j);
+            out.write("{\"from\":");
+            values.value(e.getFrom());
+            out.write(", \"to\":");
+            values.value(e.getTo());
+            out.write(", \"weight\":");
+            values.value(e.getWeight());
+            out.write("}");
+        }
+        out.write("]");
+    }
+
+    private static Writer open(String outputPath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(outputPath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_CHARS);
+    }
+
+    private void writeLatencies() throws IOException {
+        out.write(",\n");
+        key(2, "latency_ms");
+        out.write("{");
+        boolean first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            out.write(first ? "\n" : ",\n");
+            key(4, entry.getKey().toLowerCase(Locale.ROOT));
+            out.write("{\"count\":");
+            values.value(h.count());
+            out.write(", \"mean\":");
+            values.value(h.meanMs());
+            for (int p : new int[]{50, 90, 99}) {
+                out.write(", \"p" + p + "\":");
+                values.value(h.percentileMs(p));
             }
-        } else {
-            sb.append(el.toString());
+            out.write(", \"max\":");
+            values.value(h.maxMs());
+            out.write("}");
+            first = false;
         }
-        return sb.toString();
+        out.write("\n  }");
+    }
+
+    private void pad(int indent) throws IOException {
+        for (int i = 0; i < indent; i++) out.write(' ');
+    }
+
+    private void key(int indent, String name) throws IOException {
+        pad(indent);
+        out.write('"');
+        out.write(name);
+        out.write("\": ");
+    }
+
+    /** Adds a top-level "cache" object with hit/miss counters when the document is closed. */
+    public void setCacheCounters(long hits, long misses) {
+        cacheCounters = new long[]{hits, misses};
     }
 
-    private static boolean isSmallObject(JsonObject obj) {
-        return obj.entrySet().size() <= 3;
+    /** Adds a top-level "preprocessing" object with the number of edges removed before solving. */
+    public void setPreprocessCounters(long selfLoops, long parallelEdges) {
+        preprocessCounters = new long[]{selfLoops, parallelEdges};
+    }
+
+    /** Adds a top-level "latency_ms" object with count and percentiles per histogram when the document is closed. */
+    public void setLatencyHistograms(SortedMap<String, LatencyHistogram> latencies) {
+        this.latencies = latencies;
+    }
+
+    private void writeCounters(String name, String first, long firstValue, String second, long secondValue)
+            throws IOException {
+        out.write(",\n");
+        key(2, name);
+        out.write("{\n");
+        key(4, first);
+        values.value(firstValue);
+        out.write(",\n");
+        key(4, second);
+        values.value(secondValue);
+        out.write("\n  }");
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.write("\n  ]");
+            if (cacheCounters != null) writeCounters("cache", "hits", cacheCounters[0], "misses", cacheCounters[1]);
+            if (preprocessCounters != null)
+                writeCounters("preprocessing", "self_loops_removed", preprocessCounters[0],
+                        "parallel_edges_removed", preprocessCounters[1]);
+            if (latencies != null && !latencies.isEmpty()) writeLatencies();
+            out.write("\n}");
+        } finally {
+            out.close();
+        }
     }
 }
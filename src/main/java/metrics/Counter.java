@@ -0,0 +1,14 @@
+package metrics;
+
+import java.util.Locale;
+
+/** Hot-path event counts recorded in a {@link Profile}. */
+public enum Counter {
+    HEAP_PUSHES,
+    HEAP_POLLS,
+    FINDS,
+    UNIONS,
+    PATH_COMPRESSIONS;
+
+    public String key() { return name().toLowerCase(Locale.ROOT); }
+}
@@ -0,0 +1,205 @@
+package metrics;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffered CSV writer for high-volume metric rows. Fields are encoded straight into a
+ * byte buffer without String.format: integers digit by digit and fixed-point doubles
+ * by scaling and rounding, giving the same text as {@code %.Nf} under Locale.US.
+ * Can append to an existing file (the header is only written to new or empty files),
+ * rotate to {@code path.1}, {@code path.2}, ... once a file reaches a size limit, and
+ * gzip its output. Not thread-safe.
+ *
+ * <pre>
+ * sink.field("Prim").field(1).field(2.5, 3).endRow();
+ * </pre>
+ */
+public class CsvSink implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long[] POW10 = new long[19];
+    // Below this the scaled value's rounding error is far smaller than the tie window.
+    private static final double FAST_LIMIT = 1e9;
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+
+    private final Path path;
+    private final byte[] header;
+    private final long rotateBytes;
+    private final boolean gzip;
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    private final byte[] digits = new byte[20];
+    private int position;
+    private boolean rowStarted;
+    private OutputStream out;
+    private long fileBytes;
+    private int rotations;
+
+    /** Truncates {@code path} and writes the header line. */
+    public CsvSink(String path, String header) throws IOException {
+        this(path, header, false, 0, false);
+    }
+
+    /**
+     * @param append      keep existing rows; the header is written only if the file is new or empty
+     * @param rotateBytes start a new file once this many (uncompressed) bytes were written to the
+     *                    current one; the full file is renamed to the next free {@code path.N}. 0 disables rotation
+     * @param gzip        compress the output; in append mode a new gzip member is added to the file
+     */
+    public CsvSink(String path, String header, boolean append, long rotateBytes, boolean gzip) throws IOException {
+        this.path = Paths.get(path);
+        this.header = (header + "\n").getBytes(StandardCharsets.UTF_8);
+        this.rotateBytes = rotateBytes;
+        this.gzip = gzip;
+        open(append);
+    }
+
+    /** Writes the value as-is (no quoting), UTF-8 encoded. */
+    public CsvSink field(String value) {
+        separator();
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                for (byte b : value.getBytes(StandardCharsets.UTF_8)) put(b);
+                return this;
+            }
+        }
+        writeAscii(value);
+        return this;
+    }
+
+    public CsvSink field(long value) {
+        separator();
+        writeLong(value);
+        return this;
+    }
+
+    /** Fixed-point field with {@code decimals} digits after the point, rounded half up like {@code %.Nf}. */
+    public CsvSink field(double value, int decimals) {
+        separator();
+        writeFixed(value, decimals);
+        return this;
+    }
+
+    /** Ends the current row; rotates the file afterwards if it has grown past the limit. */
+    public void endRow() throws IOException {
+        put((byte) '\n');
+        rowStarted = false;
+        if (position > buffer.length - 512) drain();
+        if (rotateBytes > 0 && fileBytes + position >= rotateBytes) rotate();
+    }
+
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void open(boolean append) throws IOException {
+        boolean fresh = !append || !Files.exists(path) || Files.size(path) == 0;
+        FileChannel channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream raw = Channels.newOutputStream(channel);
+        out = gzip ? new GZIPOutputStream(raw, BUFFER_BYTES) : raw;
+        fileBytes = 0;
+        if (fresh) {
+            System.arraycopy(header, 0, buffer, position, header.length);
+            position += header.length;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Path target;
+        do {
+            target = path.resolveSibling(path.getFileName() + "." + ++rotations);
+        } while (Files.exists(target));
+        Files.move(path, target);
+        open(false);
+    }
+
+    private void drain() throws IOException {
+        if (position == 0) return;
+        out.write(buffer, 0, position);
+        fileBytes += position;
+        position = 0;
+    }
+
+    private void separator() {
+        if (rowStarted) put((byte) ',');
+        rowStarted = true;
+    }
+
+    private void put(byte b) {
+        if (position == buffer.length) {
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer[position++] = b;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (n > 0) put(digits[--n]);
+    }
+
+    private void writeFixed(double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeAscii(Double.toString(value));
+            return;
+        }
+        boolean negative = value < 0 || (value == 0 && 1 / value < 0);
+        double magnitude = Math.abs(value);
+        if (negative) put((byte) '-');
+        double scaled = decimals < POW10.length ? magnitude * POW10[decimals] : Double.POSITIVE_INFINITY;
+        // Formatter rounds the shortest decimal form (Double.toString) half up, not the exact
+        // binary value, so 0.285 prints as 0.29. Near a tie, defer to the same decimal form.
+        if (scaled >= FAST_LIMIT || Math.abs(scaled - Math.floor(scaled) - 0.5) < 1e-6) {
+            writeAscii(BigDecimal.valueOf(magnitude).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long units = (long) Math.floor(scaled + 0.5);
+        writeLong(units / POW10[decimals]);
+        if (decimals > 0) {
+            put((byte) '.');
+            long rest = units % POW10[decimals];
+            for (int d = decimals - 1; d >= 0; d--) put((byte) ('0' + (rest / POW10[d]) % 10));
+        }
+    }
+
+    private void writeAscii(String s) {
+        for (int i = 0; i < s.length(); i++) put((byte) s.charAt(i));
+    }
+}
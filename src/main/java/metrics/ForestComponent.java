@@ -0,0 +1,21 @@
+package metrics;
+
+import graph.Edge;
+import java.util.List;
+
+/** One tree of a minimum spanning forest: its vertex count, cost and edges. */
+public class ForestComponent {
+    private final int vertices;
+    private final double totalCost;
+    private final List<Edge> mstEdges;
+
+    public ForestComponent(int vertices, double totalCost, List<Edge> mstEdges) {
+        this.vertices = vertices;
+        this.totalCost = totalCost;
+        this.mstEdges = mstEdges;
+    }
+
+    public int getVertices() { return vertices; }
+    public double getTotalCost() { return totalCost; }
+    public List<Edge> getMstEdges() { return mstEdges; }
+}
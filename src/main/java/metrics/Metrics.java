@@ -14,6 +14,12 @@ public class Metrics {
     private double executionTimeMs;
     private boolean connected;
     private List<Edge> mstEdges;
+    private long finds;
+    private long unions;
+    private int componentCount;
+    private List<ForestComponent> components;
+    private boolean cached;
+    private Profile profile = new Profile();
 
     public Metrics(String algorithm, int graphId, int vertices, int edges,
                    double totalCost, long operations, double executionTimeMs,
@@ -37,21 +43,80 @@ public class Metrics {
     public int getVertices() { return vertices; }
     public int getEdges() { return edges; }
     public List<Edge> getMstEdges() { return mstEdges; }
+    public boolean isConnected() { return connected; }
+    public long getFinds() { return finds; }
+    public long getUnions() { return unions; }
+
+    /** Phase timings and counters of this run; shared with {@link #summary()} copies. */
+    public Profile getProfile() { return profile; }
+
+    /** Number of trees in the spanning forest; 0 unless the result came from a forest run. */
+    public int getComponentCount() { return componentCount; }
+
+    /** Per-tree results of a forest run in order of each tree's first vertex, otherwise null. */
+    public List<ForestComponent> getComponents() { return components; }
+
+    /** True when the result was loaded from the result cache rather than computed. */
+    public boolean isCached() { return cached; }
+
+    /**
+     * Marks a result loaded from the result cache. Its execution time becomes the
+     * lookup time, so reports never repeat the timing of the run that filled the entry.
+     */
+    public void markCached(double lookupMs) {
+        this.cached = true;
+        this.executionTimeMs = lookupMs;
+    }
+
+    /** Copy without the MST edge list, for callers that only need the summary numbers. */
+    public Metrics summary() {
+        Metrics m = new Metrics(algorithm, graphId, vertices, edges, totalCost, operations,
+                executionTimeMs, connected, Collections.emptyList());
+        m.setUnionFindCounts(finds, unions);
+        m.componentCount = componentCount;
+        m.cached = cached;
+        m.profile = profile;
+        return m;
+    }
+
+    public void setUnionFindCounts(long finds, long unions) {
+        profile.add(Counter.FINDS, finds - this.finds);
+        profile.add(Counter.UNIONS, unions - this.unions);
+        this.finds = finds;
+        this.unions = unions;
+    }
+
+    public void setComponents(List<ForestComponent> components) {
+        this.components = components;
+        this.componentCount = components.size();
+    }
+
+    /** Header matching {@link #writeCsvRow}: the original seven columns, phase times, counters, then cached (1 for cache hits). */
+    public static String csvHeader() {
+        StringBuilder header = new StringBuilder("algorithm,graph_id,vertices,edges,total_cost,operations,execution_time_ms");
+        for (Phase phase : Phase.values()) header.append(',').append(phase.key()).append("_ms");
+        for (Counter counter : Counter.values()) header.append(',').append(counter.key());
+        header.append(",cached");
+        return header.toString();
+    }
+
+    public void writeCsvRow(CsvSink sink) throws IOException {
+        sink.field(algorithm)
+                .field(graphId)
+                .field(vertices)
+                .field(edges)
+                .field(totalCost, 2)
+                .field(operations)
+                .field(executionTimeMs, 3);
+        for (Phase phase : Phase.values()) sink.field(profile.millis(phase), 3);
+        for (Counter counter : Counter.values()) sink.field(profile.count(counter));
+        sink.field(cached ? 1 : 0);
+        sink.endRow();
+    }
 
     public static void exportToCSV(List<Metrics> metricsList, String csvPath) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(csvPath))) {
-            writer.println("algorithm,graph_id,vertices,edges,total_cost,operations,execution_time_ms");
-            for (Metrics m : metricsList) {
-                writer.write(String.format(java.util.Locale.US, "%s,%d,%d,%d,%.2f,%d,%.3f\n",
-                        m.algorithm,
-                        m.graphId,
-                        m.vertices,
-                        m.edges,
-                        m.totalCost,
-                        m.operations,
-                        m.executionTimeMs
-                ));
-            }
+        try (CsvSink sink = new CsvSink(csvPath, csvHeader())) {
+            for (Metrics m : metricsList) m.writeCsvRow(sink);
         }
     }
 }
@@ -0,0 +1,17 @@
+package metrics;
+
+import java.util.Locale;
+
+/** Stages of processing one graph that {@link Profile} can time separately. */
+public enum Phase {
+    LOAD,
+    PREPROCESS,
+    ADJACENCY,
+    SORT,
+    MAIN_LOOP,
+    /** Writing a result block; only known once the block is written, so it appears in the CSV only. */
+    OUTPUT;
+
+    /** Lower-case name used as the JSON key and CSV column prefix, e.g. "main_loop". */
+    public String key() { return name().toLowerCase(Locale.ROOT); }
+}
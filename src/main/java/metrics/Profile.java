@@ -0,0 +1,57 @@
+package metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-run phase timings and event counts attached to a {@link Metrics}, plus a
+ * registry of latency histograms that accumulate across runs. Instrumentation is on
+ * unless the JVM is started with -Dmst.instrument=false; {@link #ENABLED} is a
+ * constant, so with it off the JIT removes the guarded code and hot loops pay nothing.
+ */
+public class Profile {
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("mst.instrument", "true"));
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final long[] counters = new long[Counter.values().length];
+
+    /** Timestamp to pass to {@link #stop}; 0 when instrumentation is off. */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /** Adds the time since {@code start} to a phase. */
+    public void stop(Phase phase, long start) {
+        if (ENABLED) phaseNanos[phase.ordinal()] += System.nanoTime() - start;
+    }
+
+    public void addNanos(Phase phase, long nanos) {
+        if (ENABLED) phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    public void add(Counter counter, long amount) {
+        if (ENABLED) counters[counter.ordinal()] += amount;
+    }
+
+    public long nanos(Phase phase) { return phaseNanos[phase.ordinal()]; }
+    public double millis(Phase phase) { return phaseNanos[phase.ordinal()] / 1_000_000.0; }
+    public long count(Counter counter) { return counters[counter.ordinal()]; }
+
+    public boolean isEmpty() {
+        for (long t : phaseNanos) if (t != 0) return false;
+        for (long c : counters) if (c != 0) return false;
+        return true;
+    }
+
+    /** Shared histogram for the given name, created on first use. */
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /** Snapshot of all histograms by name. */
+    public static SortedMap<String, LatencyHistogram> histograms() {
+        return new TreeMap<>(HISTOGRAMS);
+    }
+}
@@ -0,0 +1,271 @@
+package pipeline;
+
+import algorithms.Algorithm;
+import cache.ResultCache;
+import graph.EdgePreprocessor;
+import graph.Graph;
+import json.JsonReader;
+import json.JsonWriter;
+import metrics.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Three-stage runner: a reader thread streams graphs into a bounded queue, a pool of
+ * workers solves them with the selected algorithms, and the calling thread writes
+ * results in input order. At most {@code maxInFlight} graphs are read but not yet
+ * written at any time, which bounds memory when graphs are large.
+ */
+public class Pipeline {
+    private final List<Algorithm> algorithms;
+    private final int workers;
+    private final boolean virtualThreads;
+    private final int maxInFlight;
+    private ResultCache cache;
+    private boolean preprocess;
+    private final AtomicLong selfLoopsRemoved = new AtomicLong();
+    private final AtomicLong parallelEdgesRemoved = new AtomicLong();
+
+    public Pipeline(List<Algorithm> algorithms, int workers, boolean virtualThreads, int maxInFlight) {
+        if (algorithms.isEmpty()) throw new IllegalArgumentException("At least one algorithm must be selected");
+        if (workers < 1 || maxInFlight < 1)
+            throw new IllegalArgumentException("workers and maxInFlight must be positive");
+        this.algorithms = List.copyOf(algorithms);
+        this.workers = workers;
+        this.virtualThreads = virtualThreads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Serves results from the given cache when the graph has been solved before; null disables caching. */
+    public void setCache(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Runs {@link EdgePreprocessor} on every graph before it is solved (and before the
+     * cache is consulted), so algorithms only see the lightest edge per vertex pair.
+     */
+    public void setPreprocess(boolean preprocess) {
+        this.preprocess = preprocess;
+    }
+
+    public long selfLoopsRemoved() { return selfLoopsRemoved.get(); }
+    public long parallelEdgesRemoved() { return parallelEdgesRemoved.get(); }
+
+    /** Runs every graph of every input file and returns the number of graphs written. */
+    public int run(List<String> inputFiles, String outputJson, String csvPath) throws Exception {
+        BlockingQueue<Task> tasks = new ArrayBlockingQueue<>(maxInFlight);
+        BlockingQueue<Result> results = new ArrayBlockingQueue<>(maxInFlight + workers);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ThreadFactory factory = threadFactory(virtualThreads);
+
+        AtomicReference<Throwable> readFailure = new AtomicReference<>();
+        Thread reader = factory.newThread(() -> read(inputFiles, tasks, inFlight, readFailure));
+        reader.setName("mst-reader");
+        List<Thread> pool = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Thread worker = factory.newThread(() -> work(tasks, results));
+            worker.setName("mst-worker-" + i);
+            pool.add(worker);
+        }
+        reader.start();
+        pool.forEach(Thread::start);
+
+        Map<Algorithm, List<Metrics>> rows = new EnumMap<>(Algorithm.class);
+        for (Algorithm a : algorithms) rows.put(a, new ArrayList<>());
+        Map<Long, Result> pending = new HashMap<>();
+        long next = 0;
+        int written = 0;
+        int finishedWorkers = 0;
+
+        try (JsonWriter writer = new JsonWriter(outputJson)) {
+            while (finishedWorkers < workers || !pending.isEmpty()) {
+                Result r = results.take();
+                if (r == Result.DONE) {
+                    finishedWorkers++;
+                } else {
+                    pending.put(r.seq, r);
+                }
+                for (Result ready; (ready = pending.remove(next)) != null; next++) {
+                    if (ready.error != null) {
+                        System.err.println("Error on graph " + ready.graphId + ": " + ready.error);
+                    } else {
+                        long start = Profile.start();
+                        writer.write(ready.metrics);
+                        for (Metrics m : ready.metrics) m.getProfile().stop(Phase.OUTPUT, start);
+                        for (int i = 0; i < algorithms.size(); i++)
+                            rows.get(algorithms.get(i)).add(ready.metrics.get(i).summary());
+                        written++;
+                    }
+                    inFlight.release();
+                }
+                if (finishedWorkers == workers && !pending.isEmpty() && !pending.containsKey(next))
+                    throw new IllegalStateException("Result for sequence " + next + " was lost");
+            }
+            Throwable failure = readFailure.get();
+            if (failure instanceof Error) throw (Error) failure;
+            if (failure != null) throw new IllegalStateException("Reading the input failed", failure);
+            if (cache != null) writer.setCacheCounters(cache.hits(), cache.misses());
+            if (preprocess) writer.setPreprocessCounters(selfLoopsRemoved.get(), parallelEdgesRemoved.get());
+            if (Profile.ENABLED) {
+                SortedMap<String, LatencyHistogram> latencies = new TreeMap<>();
+                for (Algorithm a : algorithms) {
+                    LatencyHistogram h = Profile.histograms().get(a.label());
+                    if (h != null) latencies.put(a.label(), h);
+                }
+                writer.setLatencyHistograms(latencies);
+            }
+        } finally {
+            reader.interrupt();
+            for (Thread t : pool) t.interrupt();
+        }
+
+        List<Metrics> all = new ArrayList<>();
+        for (Algorithm a : algorithms) all.addAll(rows.get(a));
+        Metrics.exportToCSV(all, csvPath);
+        return written;
+    }
+
+    private void read(List<String> inputFiles, BlockingQueue<Task> tasks, Semaphore inFlight,
+                      AtomicReference<Throwable> failure) {
+        long seq = 0;
+        boolean interrupted = false;
+        try {
+            for (String inputPath : inputFiles) {
+                System.out.println("Reading " + inputPath);
+                try (Stream<Graph> graphs = open(inputPath)) {
+                    Iterator<Graph> it = graphs.iterator();
+                    while (true) {
+                        long start = Profile.start();
+                        if (!it.hasNext()) break;
+                        Graph g = it.next();
+                        long loadNanos = Profile.ENABLED ? System.nanoTime() - start : 0;
+                        inFlight.acquire();
+                        tasks.put(new Task(seq++, g, loadNanos));
+                    }
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    System.err.println("Error " + inputPath + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } catch (Throwable t) {
+            failure.set(t);
+        } finally {
+            // Workers only stop on poison, so it must be queued however reading ended.
+            if (!interrupted) {
+                try {
+                    for (int i = 0; i < workers; i++) tasks.put(Task.POISON);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Opens one input file as a stream of graphs. */
+    Stream<Graph> open(String inputPath) throws IOException {
+        return JsonReader.streamGraphs(inputPath);
+    }
+
+    private void work(BlockingQueue<Task> tasks, BlockingQueue<Result> results) {
+        try {
+            while (true) {
+                Task task = tasks.take();
+                if (task == Task.POISON) break;
+                Result r;
+                try {
+                    r = new Result(task.seq, task.graph.getId(), solve(task.graph, task.loadNanos), null);
+                } catch (Throwable e) {
+                    // Errors too (e.g. OutOfMemoryError on one huge graph): the graph is reported and skipped.
+                    r = new Result(task.seq, task.graph.getId(), null, e);
+                }
+                results.put(r);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // The writer counts DONE markers, so one is sent however the worker ends. offer cannot
+            // fail: the queue holds maxInFlight results plus one marker per worker.
+            results.offer(Result.DONE);
+        }
+    }
+
+    /** Runs every selected algorithm (after preprocessing, if enabled) on one graph. */
+    List<Metrics> solve(Graph graph, long loadNanos) {
+        long preprocessNanos = 0;
+        if (preprocess) {
+            long start = Profile.start();
+            EdgePreprocessor.Result cleaned = EdgePreprocessor.run(graph.getCompact());
+            if (cleaned.eliminated() > 0) graph = new Graph(cleaned.graph());
+            selfLoopsRemoved.addAndGet(cleaned.selfLoops());
+            parallelEdgesRemoved.addAndGet(cleaned.parallelEdges());
+            preprocessNanos = Profile.ENABLED ? System.nanoTime() - start : 0;
+        }
+        List<Metrics> metrics = new ArrayList<>(algorithms.size());
+        for (Algorithm a : algorithms) {
+            Metrics m = cache != null ? cache.run(a, graph) : a.run(graph);
+            m.getProfile().addNanos(Phase.LOAD, loadNanos);
+            m.getProfile().addNanos(Phase.PREPROCESS, preprocessNanos);
+            metrics.add(m);
+        }
+        return metrics;
+    }
+
+    /** Virtual threads when the runtime has them (JDK 21+), platform threads otherwise. */
+    public static ThreadFactory threadFactory(boolean virtual) {
+        if (virtual) {
+            try {
+                Method ofVirtual = Thread.class.getMethod("ofVirtual");
+                Object builder = ofVirtual.invoke(null);
+                Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+                return (ThreadFactory) factory.invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.err.println("Virtual threads are not available on this JVM, using platform threads");
+            }
+        }
+        return r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static final class Task {
+        static final Task POISON = new Task(-1, null, 0);
+        final long seq;
+        final Graph graph;
+        final long loadNanos;
+
+        Task(long seq, Graph graph, long loadNanos) {
+            this.seq = seq;
+            this.graph = graph;
+            this.loadNanos = loadNanos;
+        }
+    }
+
+    private static final class Result {
+        static final Result DONE = new Result(-1, -1, null, null);
+        final long seq;
+        final int graphId;
+        final List<Metrics> metrics;
+        final Throwable error;
+
+        Result(long seq, int graphId, List<Metrics> metrics, Throwable error) {
+            this.seq = seq;
+            this.graphId = graphId;
+            this.metrics = metrics;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package plots;
+
+import java.util.Locale;
+
+/** Which edges the large-graph renderer draws; MST edges are always drawn on top when known. */
+public enum EdgeMode {
+    /** Every edge as a 1px line. */
+    ALL,
+    /** Only the minimum spanning tree (falls back to SAMPLE when no MST is given). */
+    MST_ONLY,
+    /** A seeded random sample of the non-tree edges, at most {@link PlotOptions#maxSampledEdges(int)}. */
+    SAMPLE,
+    /** Non-tree edges accumulated per pixel and shaded by log density instead of drawn one by one. */
+    DENSITY;
+
+    public static EdgeMode fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,213 @@
+package plots;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Vertex positions in the unit square for the large-graph renderer. Iterative layouts
+ * stop at whichever comes first of the time budget and the iteration limit, so they
+ * always return; a larger budget only refines the picture.
+ */
+final class GraphLayout {
+    private GraphLayout() {}
+
+    /** Returns {x, y}, both in [0, 1], for vertices 0..n-1 joined by edges (from[i], to[i]), i < m. */
+    static double[][] compute(LayoutMethod method, int n, int[] from, int[] to, int m,
+                              long budgetMs, int maxIterations, long seed) {
+        long deadline = System.nanoTime() + budgetMs * 1_000_000L;
+        switch (method) {
+            case FORCE_DIRECTED: return forceDirected(n, from, to, m, deadline, maxIterations, seed);
+            case SPECTRAL: return spectral(n, from, to, m, deadline, maxIterations, seed);
+            default: return circular(n);
+        }
+    }
+
+    static double[][] circular(int n) {
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            x[i] = 0.5 + 0.5 * Math.cos(angle);
+            y[i] = 0.5 + 0.5 * Math.sin(angle);
+        }
+        return new double[][]{x, y};
+    }
+
+    /**
+     * Fruchterman-Reingold: every pair repels with k^2/d and edges attract with d^2/k,
+     * moves are capped by a cooling temperature. Repulsion is cut off at distance 2k and
+     * looked up in the surrounding grid cells of that size, which keeps an iteration O(V + E).
+     */
+    static double[][] forceDirected(int n, int[] from, int[] to, int m, long deadline, int maxIterations, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+        if (n < 2) return new double[][]{x, y};
+
+        double k = Math.sqrt(1.0 / n);
+        double k2 = k * k;
+        double radius2 = 4 * k2; // repulsion cut off at 2k, the cell size, so it is the same everywhere
+        int cells = (int) Math.max(1, Math.min(1024, Math.floor(1 / (2 * k))));
+        int[] cellOf = new int[n];
+        int[] start = new int[cells * cells + 1];
+        int[] order = new int[n];
+        double[] dx = new double[n], dy = new double[n];
+
+        for (int iter = 0; iter < maxIterations && System.nanoTime() < deadline; iter++) {
+            double temperature = 0.1 * (1 - (double) iter / maxIterations) + 1e-4;
+
+            Arrays.fill(start, 0);
+            for (int i = 0; i < n; i++) {
+                cellOf[i] = cell(y[i], cells) * cells + cell(x[i], cells);
+                start[cellOf[i] + 1]++;
+            }
+            for (int c = 0; c < cells * cells; c++) start[c + 1] += start[c];
+            int[] next = Arrays.copyOf(start, cells * cells);
+            for (int i = 0; i < n; i++) order[next[cellOf[i]]++] = i;
+
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double fx = 0, fy = 0;
+                int cx = cellOf[i] % cells, cy = cellOf[i] / cells;
+                for (int gy = Math.max(0, cy - 1); gy <= Math.min(cells - 1, cy + 1); gy++) {
+                    for (int gx = Math.max(0, cx - 1); gx <= Math.min(cells - 1, cx + 1); gx++) {
+                        int c = gy * cells + gx;
+                        for (int s = start[c]; s < start[c + 1]; s++) {
+                            int j = order[s];
+                            if (j == i) continue;
+                            double ddx = x[i] - x[j], ddy = y[i] - y[j];
+                            double d2 = Math.max(ddx * ddx + ddy * ddy, 1e-12);
+                            if (d2 > radius2) continue;
+                            fx += ddx * k2 / d2;
+                            fy += ddy * k2 / d2;
+                        }
+                    }
+                }
+                dx[i] = fx;
+                dy[i] = fy;
+            });
+
+            for (int e = 0; e < m; e++) {
+                int u = from[e], v = to[e];
+                if (u == v) continue;
+                double ddx = x[u] - x[v], ddy = y[u] - y[v];
+                double d = Math.sqrt(ddx * ddx + ddy * ddy);
+                double f = d / k; // (d^2 / k) / d
+                dx[u] -= ddx * f;
+                dy[u] -= ddy * f;
+                dx[v] += ddx * f;
+                dy[v] += ddy * f;
+            }
+
+            for (int i = 0; i < n; i++) {
+                double len = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+                if (len == 0) continue;
+                double step = Math.min(len, temperature) / len;
+                x[i] = clamp(x[i] + dx[i] * step);
+                y[i] = clamp(y[i] + dy[i] * step);
+            }
+        }
+        normalize(x);
+        normalize(y);
+        return new double[][]{x, y};
+    }
+
+    /**
+     * Power iteration on the lazy walk (I + D^-1/2 (A + I) D^-1/2) / 2, deflating the
+     * trivial eigenvector sqrt(d); the next two eigenvectors, scaled by D^-1/2, are the
+     * coordinates. Disconnected graphs tend to collapse each component to a point.
+     */
+    static double[][] spectral(int n, int[] from, int[] to, int m, long deadline, int maxIterations, long seed) {
+        double[] invSqrt = new double[n];
+        Arrays.fill(invSqrt, 1); // the identity term counts as one self-loop per vertex
+        for (int e = 0; e < m; e++) {
+            if (from[e] == to[e]) continue;
+            invSqrt[from[e]]++;
+            invSqrt[to[e]]++;
+        }
+        double[] trivial = new double[n];
+        for (int i = 0; i < n; i++) {
+            trivial[i] = Math.sqrt(invSqrt[i]);
+            invSqrt[i] = 1 / trivial[i];
+        }
+        normalizeLength(trivial);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] a = new double[n], b = new double[n], scratch = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextDouble() - 0.5;
+            b[i] = random.nextDouble() - 0.5;
+        }
+        orthonormalize(a, b, trivial);
+
+        for (int iter = 0; iter < maxIterations && System.nanoTime() < deadline; iter++) {
+            multiply(a, scratch, invSqrt, from, to, m);
+            multiply(b, scratch, invSqrt, from, to, m);
+            orthonormalize(a, b, trivial);
+        }
+        for (int i = 0; i < n; i++) {
+            a[i] *= invSqrt[i];
+            b[i] *= invSqrt[i];
+        }
+        normalize(a);
+        normalize(b);
+        return new double[][]{a, b};
+    }
+
+    /** x = (x + D^-1/2 (A + I) D^-1/2 x) / 2 in place. */
+    private static void multiply(double[] x, double[] y, double[] invSqrt, int[] from, int[] to, int m) {
+        int n = x.length;
+        for (int i = 0; i < n; i++) y[i] = x[i] * invSqrt[i] * invSqrt[i];
+        for (int e = 0; e < m; e++) {
+            int u = from[e], v = to[e];
+            if (u == v) continue;
+            double w = invSqrt[u] * invSqrt[v];
+            y[u] += w * x[v];
+            y[v] += w * x[u];
+        }
+        for (int i = 0; i < n; i++) x[i] = 0.5 * (x[i] + y[i]);
+    }
+
+    private static void orthonormalize(double[] a, double[] b, double[] trivial) {
+        subtractProjection(a, trivial);
+        normalizeLength(a);
+        subtractProjection(b, trivial);
+        subtractProjection(b, a);
+        normalizeLength(b);
+    }
+
+    private static void subtractProjection(double[] x, double[] unit) {
+        double dot = 0;
+        for (int i = 0; i < x.length; i++) dot += x[i] * unit[i];
+        for (int i = 0; i < x.length; i++) x[i] -= dot * unit[i];
+    }
+
+    private static void normalizeLength(double[] x) {
+        double sum = 0;
+        for (double v : x) sum += v * v;
+        if (sum == 0) return;
+        double inv = 1 / Math.sqrt(sum);
+        for (int i = 0; i < x.length; i++) x[i] *= inv;
+    }
+
+    /** Rescales the coordinates to exactly fill [0, 1]; a constant axis is centred. */
+    private static void normalize(double[] x) {
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (double v : x) {
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        double range = max - min;
+        for (int i = 0; i < x.length; i++) x[i] = range > 0 ? (x[i] - min) / range : 0.5;
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+
+    private static double clamp(double v) {
+        return v < 0 ? 0 : v > 1 ? 1 : v;
+    }
+}
@@ -1,17 +1,38 @@
 package plots;
 
 import graph.*;
+import metrics.Metrics;
+
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.util.*;
 import java.awt.geom.Line2D;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class GraphPlotter {
+    /** Above this many edges {@link #saveGraphImage(Graph, String)} switches to the large-graph renderer. */
+    public static final int LARGE_GRAPH_EDGES = 2000;
+
+    private static final int BACKGROUND = 0xFFFFFF;
+    private static final int EDGE = 0xC0C0C0;
+    private static final int TREE_EDGE = 0x1F4E9A;
+    private static final int VERTEX = 0x000000;
+    private static final int MARGIN = 20;
+
+    static {
+        // Plots are rendered on servers without a display.
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+    }
 
     public static void saveGraphImage(Graph graph, String outputPath) {
+        if (graph.edgeCount() > LARGE_GRAPH_EDGES) {
+            saveGraphImage(graph, null, outputPath, new PlotOptions().edgeMode(EdgeMode.SAMPLE));
+            return;
+        }
         int width = 1200;
         int height = 900;
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
@@ -63,6 +84,164 @@ public class GraphPlotter {
             g2.drawString(node, p.x - 5, p.y - 10);
         }
 
+        write(image, outputPath);
+    }
+
+    /**
+     * Large-graph plot: the MST edges of {@code mst} (may be null) over the non-tree edges
+     * selected by {@link PlotOptions#edgeMode}, on the chosen layout. Lines are 1px and
+     * rasterized straight into the image buffer, one parallel task per tile.
+     */
+    public static void saveGraphImage(Graph graph, Metrics mst, String outputPath, PlotOptions options) {
+        write(render(graph, mst, options), outputPath);
+    }
+
+    public static BufferedImage render(Graph graph, Metrics mst, PlotOptions options) {
+        CompactGraph g = graph.getCompact();
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+
+        int[] treeFrom = new int[0], treeTo = new int[0];
+        double[] treeWeight = new double[0];
+        if (mst != null) {
+            Map<String, Integer> index = new HashMap<>(n * 2);
+            for (int v = 0; v < n; v++) index.put(g.name(v), v);
+            List<Edge> tree = mst.getMstEdges();
+            treeFrom = new int[tree.size()];
+            treeTo = new int[tree.size()];
+            treeWeight = new double[tree.size()];
+            for (int i = 0; i < tree.size(); i++) {
+                Edge e = tree.get(i);
+                treeFrom[i] = index.get(e.getFrom());
+                treeTo[i] = index.get(e.getTo());
+                treeWeight[i] = e.getWeight();
+            }
+        }
+
+        EdgeMode mode = options.getEdgeMode();
+        if (mode == EdgeMode.MST_ONLY && mst == null) mode = EdgeMode.SAMPLE;
+        int[] background = selectEdges(mode, m, options);
+
+        // Lay out on the tree when there is one: it is connected per component and O(V).
+        double[][] layout;
+        if (treeFrom.length > 0) {
+            layout = GraphLayout.compute(options.getLayout(), n, treeFrom, treeTo, treeFrom.length,
+                    options.getLayoutBudgetMs(), options.getLayoutMaxIterations(), options.getSeed());
+        } else {
+            int[] from = new int[background.length], to = new int[background.length];
+            for (int i = 0; i < background.length; i++) {
+                from[i] = g.from(background[i]);
+                to[i] = g.to(background[i]);
+            }
+            layout = GraphLayout.compute(options.getLayout(), n, from, to, from.length,
+                    options.getLayoutBudgetMs(), options.getLayoutMaxIterations(), options.getSeed());
+        }
+
+        int width = options.getWidth(), height = options.getHeight();
+        float[] px = new float[n], py = new float[n];
+        float spanX = Math.max(1, width - 2 * MARGIN - 1), spanY = Math.max(1, height - 2 * MARGIN - 1);
+        for (int v = 0; v < n; v++) {
+            px[v] = (float) (MARGIN + layout[0][v] * spanX);
+            py[v] = (float) (MARGIN + layout[1][v] * spanY);
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int tileSize = options.getTileSize();
+        int tilesX = (width + tileSize - 1) / tileSize, tilesY = (height + tileSize - 1) / tileSize;
+        boolean density = mode == EdgeMode.DENSITY;
+        int dot = n <= 2000 ? 2 : n <= 20_000 ? 1 : 0;
+
+        int[] counts = density ? new int[width * height] : null;
+        int maxCount = 0;
+        if (density) {
+            maxCount = IntStream.range(0, tilesX * tilesY).parallel().map(t -> {
+                Tile tile = new Tile(t % tilesX * tileSize, t / tilesX * tileSize, tileSize, width, height);
+                for (int e : background)
+                    tile.line(counts, 0, true, px[g.from(e)], py[g.from(e)], px[g.to(e)], py[g.to(e)]);
+                int max = 0;
+                for (int y = tile.y0; y < tile.y1; y++)
+                    for (int x = tile.x0; x < tile.x1; x++) max = Math.max(max, counts[y * width + x]);
+                return max;
+            }).max().orElse(0);
+        }
+
+        double logMax = Math.log1p(maxCount);
+        int[] tf = treeFrom, tt = treeTo;
+        IntStream.range(0, tilesX * tilesY).parallel().forEach(t -> {
+            Tile tile = new Tile(t % tilesX * tileSize, t / tilesX * tileSize, tileSize, width, height);
+            for (int y = tile.y0; y < tile.y1; y++) {
+                for (int x = tile.x0; x < tile.x1; x++) {
+                    int c = density ? counts[y * width + x] : 0;
+                    if (c == 0) {
+                        pixels[y * width + x] = BACKGROUND;
+                    } else {
+                        int shade = 235 - (int) (205 * Math.log1p(c) / logMax);
+                        pixels[y * width + x] = shade << 16 | shade << 8 | shade;
+                    }
+                }
+            }
+            if (!density) {
+                for (int e : background)
+                    tile.line(pixels, EDGE, false, px[g.from(e)], py[g.from(e)], px[g.to(e)], py[g.to(e)]);
+            }
+            for (int i = 0; i < tf.length; i++)
+                tile.line(pixels, TREE_EDGE, false, px[tf[i]], py[tf[i]], px[tt[i]], py[tt[i]]);
+            for (int v = 0; v < n; v++) tile.dot(pixels, VERTEX, Math.round(px[v]), Math.round(py[v]), dot);
+        });
+
+        int drawnEdges = (density ? 0 : background.length) + treeFrom.length;
+        boolean vertexLabels = n <= options.getLabelThreshold();
+        boolean weightLabels = drawnEdges <= options.getLabelThreshold();
+        if (vertexLabels || weightLabels) {
+            Graphics2D g2 = image.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(new Font("Sans", Font.PLAIN, 12));
+            g2.setColor(Color.black);
+            if (weightLabels) {
+                if (!density) {
+                    for (int e : background)
+                        label(g2, String.format("%.0f", g.weight(e)), px[g.from(e)], py[g.from(e)], px[g.to(e)], py[g.to(e)]);
+                }
+                for (int i = 0; i < treeFrom.length; i++)
+                    label(g2, String.format("%.0f", treeWeight[i]), px[treeFrom[i]], py[treeFrom[i]], px[treeTo[i]], py[treeTo[i]]);
+            }
+            if (vertexLabels) {
+                for (int v = 0; v < n; v++) g2.drawString(g.name(v), px[v] - 5, py[v] - 6);
+            }
+            g2.dispose();
+        }
+        return image;
+    }
+
+    /** Edge indices drawn (or accumulated) under the tree for the given mode. */
+    private static int[] selectEdges(EdgeMode mode, int m, PlotOptions options) {
+        switch (mode) {
+            case MST_ONLY:
+                return new int[0];
+            case SAMPLE:
+                if (m > options.getMaxSampledEdges()) {
+                    SplittableRandom random = new SplittableRandom(options.getSeed());
+                    double p = (double) options.getMaxSampledEdges() / m;
+                    int[] sample = new int[options.getMaxSampledEdges()];
+                    int count = 0;
+                    for (int e = 0; e < m && count < sample.length; e++)
+                        if (random.nextDouble() < p) sample[count++] = e;
+                    return Arrays.copyOf(sample, count);
+                }
+                // fall through: small enough to draw everything
+            default:
+                int[] all = new int[m];
+                for (int e = 0; e < m; e++) all[e] = e;
+                return all;
+        }
+    }
+
+    private static void label(Graphics2D g2, String text, float x0, float y0, float x1, float y1) {
+        g2.drawString(text, (x0 + x1) / 2, (y0 + y1) / 2);
+    }
+
+    private static void write(BufferedImage image, String outputPath) {
         try {
             ImageIO.write(image, "png", new File(outputPath));
             System.out.println("Graph's plot saved: " + outputPath);
@@ -70,4 +249,55 @@ public class GraphPlotter {
             e.printStackTrace();
         }
     }
+
+    /** One rectangle of the image; drawing is clipped to it so tiles never touch the same pixel. */
+    private static final class Tile {
+        final int x0, y0, x1, y1, width;
+
+        Tile(int x0, int y0, int size, int width, int height) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = Math.min(width, x0 + size);
+            this.y1 = Math.min(height, y0 + size);
+            this.width = width;
+        }
+
+        /** DDA line from (ax, ay) to (bx, by), clipped (Liang-Barsky) to this tile plus a pixel of slack. */
+        void line(int[] target, int colour, boolean accumulate, float ax, float ay, float bx, float by) {
+            if (Math.max(ax, bx) < x0 - 1 || Math.min(ax, bx) > x1 || Math.max(ay, by) < y0 - 1 || Math.min(ay, by) > y1) return;
+            float dx = bx - ax, dy = by - ay;
+            float[] t = {0, 1};
+            if (!clip(-dx, ax - (x0 - 1), t) || !clip(dx, x1 - ax, t)
+                    || !clip(-dy, ay - (y0 - 1), t) || !clip(dy, y1 - ay, t)) return;
+            float sx = ax + t[0] * dx, sy = ay + t[0] * dy;
+            float ex = ax + t[1] * dx, ey = ay + t[1] * dy;
+            int steps = (int) Math.ceil(Math.max(Math.abs(ex - sx), Math.abs(ey - sy)));
+            float stepX = steps == 0 ? 0 : (ex - sx) / steps, stepY = steps == 0 ? 0 : (ey - sy) / steps;
+            for (int i = 0; i <= steps; i++) {
+                int x = Math.round(sx + i * stepX), y = Math.round(sy + i * stepY);
+                if (x < x0 || x >= x1 || y < y0 || y >= y1) continue;
+                if (accumulate) target[y * width + x]++;
+                else target[y * width + x] = colour;
+            }
+        }
+
+        void dot(int[] target, int colour, int cx, int cy, int radius) {
+            for (int y = Math.max(y0, cy - radius); y <= Math.min(y1 - 1, cy + radius); y++)
+                for (int x = Math.max(x0, cx - radius); x <= Math.min(x1 - 1, cx + radius); x++)
+                    target[y * width + x] = colour;
+        }
+
+        private static boolean clip(float p, float q, float[] t) {
+            if (p == 0) return q >= 0;
+            float r = q / p;
+            if (p < 0) {
+                if (r > t[1]) return false;
+                if (r > t[0]) t[0] = r;
+            } else {
+                if (r < t[0]) return false;
+                if (r < t[1]) t[1] = r;
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package plots;
+
+import java.util.Locale;
+
+/** Vertex placement for the large-graph renderer. */
+public enum LayoutMethod {
+    /** Vertices evenly spaced on a circle, like the small-graph plots. */
+    CIRCULAR,
+    /** Fruchterman-Reingold with grid-bucketed repulsion, refined until the time budget runs out. */
+    FORCE_DIRECTED,
+    /** Second and third eigenvectors of the normalized adjacency, by power iteration within the time budget. */
+    SPECTRAL;
+
+    public static LayoutMethod fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,82 @@
+package plots;
+
+/**
+ * Settings for {@link GraphPlotter#saveGraphImage(graph.Graph, metrics.Metrics, String, PlotOptions)}.
+ * Defaults suit graphs with tens of thousands of edges: MST only, force-directed layout
+ * with a two second budget, and labels only below 200 vertices / drawn edges.
+ */
+public class PlotOptions {
+    private int width = 1200;
+    private int height = 900;
+    private EdgeMode edgeMode = EdgeMode.MST_ONLY;
+    private LayoutMethod layout = LayoutMethod.FORCE_DIRECTED;
+    private long layoutBudgetMs = 2000;
+    private int layoutMaxIterations = 1000;
+    private int labelThreshold = 200;
+    private int maxSampledEdges = 20_000;
+    private int tileSize = 256;
+    private long seed = 42;
+
+    public PlotOptions size(int width, int height) {
+        if (width < 1 || height < 1) throw new IllegalArgumentException("Image size must be positive");
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public PlotOptions edgeMode(EdgeMode edgeMode) {
+        this.edgeMode = edgeMode;
+        return this;
+    }
+
+    public PlotOptions layout(LayoutMethod layout) {
+        this.layout = layout;
+        return this;
+    }
+
+    /** Wall-clock limit for iterative layouts; the best layout so far is used once it runs out. */
+    public PlotOptions layoutBudgetMs(long layoutBudgetMs) {
+        this.layoutBudgetMs = layoutBudgetMs;
+        return this;
+    }
+
+    public PlotOptions layoutMaxIterations(int layoutMaxIterations) {
+        this.layoutMaxIterations = layoutMaxIterations;
+        return this;
+    }
+
+    /** Vertex names are drawn up to this many vertices, edge weights up to this many drawn edges. */
+    public PlotOptions labelThreshold(int labelThreshold) {
+        this.labelThreshold = labelThreshold;
+        return this;
+    }
+
+    public PlotOptions maxSampledEdges(int maxSampledEdges) {
+        this.maxSampledEdges = maxSampledEdges;
+        return this;
+    }
+
+    /** Edge of the square tiles rendered in parallel. */
+    public PlotOptions tileSize(int tileSize) {
+        if (tileSize < 16) throw new IllegalArgumentException("tileSize must be at least 16");
+        this.tileSize = tileSize;
+        return this;
+    }
+
+    /** Seed for edge sampling and the initial layout, so plots are reproducible. */
+    public PlotOptions seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public EdgeMode getEdgeMode() { return edgeMode; }
+    public LayoutMethod getLayout() { return layout; }
+    public long getLayoutBudgetMs() { return layoutBudgetMs; }
+    public int getLayoutMaxIterations() { return layoutMaxIterations; }
+    public int getLabelThreshold() { return labelThreshold; }
+    public int getMaxSampledEdges() { return maxSampledEdges; }
+    public int getTileSize() { return tileSize; }
+    public long getSeed() { return seed; }
+}
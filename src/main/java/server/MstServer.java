@@ -0,0 +1,378 @@
+package server;
+
+import algorithms.Algorithm;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.Graph;
+import json.GraphStreamReader;
+import json.JsonWriter;
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import pipeline.Pipeline;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resident MST service on the JDK's built-in HTTP server, so repeated requests skip
+ * JVM startup and run on warmed-up code.
+ *
+ * <ul>
+ *   <li>{@code POST /mst?algorithms=prim,kruskal} takes a document in the input schema
+ *       ({"graphs":[...]} or a bare array) and answers with the output.json document for
+ *       it. A request may carry many graphs; they are solved in parallel and returned in
+ *       input order.</li>
+ *   <li>{@code GET /metrics} reports request counts, throughput and latency percentiles.</li>
+ *   <li>{@code GET /health} answers "ok".</li>
+ * </ul>
+ * Connections are handled on a new virtual thread each when the JVM has them, otherwise
+ * on a pool of {@code maxConcurrent + maxQueued} platform threads. Solving runs on {@code maxConcurrent} worker threads with at
+ * most {@code maxQueued} graphs waiting. A request is admitted as a whole: if its graphs
+ * do not fit in the free capacity right now it gets 503, and if it has more graphs than
+ * {@code maxConcurrent + maxQueued} it can never fit and gets 413.
+ */
+public class MstServer implements Closeable {
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 64 << 20;
+
+    private final HttpServer http;
+    private final List<Algorithm> defaultAlgorithms;
+    private final ThreadPoolExecutor solver;
+    private final int capacity;
+    private final Semaphore slots;
+    private final ExecutorService handlers;
+    private final int maxRequestBytes;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong clientErrors = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong graphsSolved = new AtomicLong();
+    private final AtomicInteger graphsInFlight = new AtomicInteger();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> algorithmLatency = new ConcurrentHashMap<>();
+    private final RateWindow graphRate = new RateWindow(60);
+
+    /**
+     * @param host          address to bind, e.g. "127.0.0.1"
+     * @param port          0 picks a free port, see {@link #getPort()}
+     * @param maxConcurrent graphs solved at the same time
+     * @param maxQueued     graphs accepted beyond those before requests are rejected with 503;
+     *                      no single request may carry more than maxConcurrent + maxQueued graphs
+     */
+    public MstServer(String host, int port, List<Algorithm> defaultAlgorithms, int maxConcurrent, int maxQueued,
+                     boolean virtualThreads) throws IOException {
+        this(host, port, defaultAlgorithms, maxConcurrent, maxQueued, virtualThreads, DEFAULT_MAX_REQUEST_BYTES);
+    }
+
+    public MstServer(String host, int port, List<Algorithm> defaultAlgorithms, int maxConcurrent, int maxQueued,
+                     boolean virtualThreads, int maxRequestBytes) throws IOException {
+        if (defaultAlgorithms.isEmpty()) throw new IllegalArgumentException("At least one algorithm must be selected");
+        if (maxConcurrent < 1 || maxQueued < 0) throw new IllegalArgumentException("maxConcurrent must be positive");
+        this.defaultAlgorithms = List.copyOf(defaultAlgorithms);
+        this.maxRequestBytes = maxRequestBytes;
+
+        ThreadFactory workers = Pipeline.threadFactory(false);
+        AtomicInteger workerNumber = new AtomicInteger();
+        // Admission is bounded by the slots semaphore, so the queue never holds more than maxQueued graphs.
+        capacity = maxConcurrent + maxQueued;
+        slots = new Semaphore(capacity);
+        solver = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = workers.newThread(r);
+                    t.setName("mst-solver-" + workerNumber.getAndIncrement());
+                    return t;
+                });
+        handlers = handlerExecutor(virtualThreads, capacity);
+
+        http = HttpServer.create(new InetSocketAddress(host, port), 0);
+        http.setExecutor(handlers);
+        http.createContext("/mst", this::handleMst);
+        http.createContext("/metrics", this::handleMetrics);
+        http.createContext("/health", exchange -> respond(exchange, 200, "text/plain", "ok\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * One virtual thread per exchange when available; pooling them would only add a
+     * queue hand-off. Otherwise a fixed platform pool, which can stay small because the
+     * slots semaphore already limits how many requests do real work.
+     */
+    private static ExecutorService handlerExecutor(boolean virtualThreads, int platformThreads) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.err.println("Virtual threads are not available on this JVM, using platform threads");
+            }
+        }
+        ThreadFactory platform = Pipeline.threadFactory(false);
+        AtomicInteger handlerNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, r -> {
+            Thread t = platform.newThread(r);
+            t.setName("mst-handler-" + handlerNumber.getAndIncrement());
+            return t;
+        });
+    }
+
+    public void start() {
+        http.start();
+    }
+
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+        solver.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void handleMst(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        requests.incrementAndGet();
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                clientErrors.incrementAndGet();
+                error(exchange, 405, "Use POST with a graphs document");
+                return;
+            }
+            List<Algorithm> algorithms;
+            List<Graph> graphs = new ArrayList<>();
+            try {
+                algorithms = algorithms(exchange.getRequestURI().getRawQuery());
+                byte[] body = exchange.getRequestBody().readNBytes(maxRequestBytes + 1);
+                if (body.length > maxRequestBytes) {
+                    clientErrors.incrementAndGet();
+                    error(exchange, 413, "Request larger than " + maxRequestBytes + " bytes");
+                    return;
+                }
+                try (GraphStreamReader reader = new GraphStreamReader(
+                        new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+                    while (reader.hasNext()) graphs.add(reader.next());
+                }
+            } catch (IOException | RuntimeException e) {
+                clientErrors.incrementAndGet();
+                error(exchange, 400, "Invalid request: " + message(e));
+                return;
+            }
+
+            if (graphs.size() > capacity) {
+                clientErrors.incrementAndGet();
+                error(exchange, 413, "Request has " + graphs.size() + " graphs, at most " + capacity + " are accepted");
+                return;
+            }
+            if (!slots.tryAcquire(graphs.size())) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                error(exchange, 503, "Server busy, retry later");
+                return;
+            }
+
+            // Solvers do not react to interrupts, so a failed request stops its remaining graphs
+            // through this flag instead of Future.cancel. Every task returns its slot when it ends.
+            AtomicBoolean abandoned = new AtomicBoolean();
+            List<Future<List<Metrics>>> results = new ArrayList<>(graphs.size());
+            try {
+                for (Graph g : graphs) {
+                    results.add(solver.submit(() -> {
+                        try {
+                            return abandoned.get() ? null : solve(g, algorithms);
+                        } finally {
+                            slots.release();
+                        }
+                    }));
+                }
+            } catch (RejectedExecutionException e) {
+                abandoned.set(true);
+                slots.release(graphs.size() - results.size());
+                failed.incrementAndGet();
+                error(exchange, 503, "Server shutting down");
+                return;
+            }
+
+            StringWriter document = new StringWriter();
+            try (JsonWriter writer = new JsonWriter(document)) {
+                for (Future<List<Metrics>> f : results) writer.write(f.get());
+            } catch (ExecutionException e) {
+                abandoned.set(true);
+                if (e.getCause() instanceof IllegalArgumentException) {
+                    clientErrors.incrementAndGet();
+                    error(exchange, 400, "Invalid graph: " + message(e.getCause()));
+                } else {
+                    failed.incrementAndGet();
+                    error(exchange, 500, "Solver failed: " + message(e.getCause()));
+                }
+                return;
+            } catch (InterruptedException e) {
+                abandoned.set(true);
+                Thread.currentThread().interrupt();
+                failed.incrementAndGet();
+                error(exchange, 503, "Server shutting down");
+                return;
+            }
+            succeeded.incrementAndGet();
+            respond(exchange, 200, "application/json", document.toString().getBytes(StandardCharsets.UTF_8));
+        } finally {
+            requestLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    /** Runs the algorithms on one graph; package-private so tests can hold a solver slot. */
+    List<Metrics> solve(Graph graph, List<Algorithm> algorithms) {
+        graphsInFlight.incrementAndGet();
+        try {
+            List<Metrics> metrics = new ArrayList<>(algorithms.size());
+            for (Algorithm a : algorithms) {
+                long start = System.nanoTime();
+                metrics.add(a.run(graph));
+                algorithmLatency.computeIfAbsent(a.label().toLowerCase(Locale.ROOT), k -> new LatencyHistogram())
+                        .record(System.nanoTime() - start);
+            }
+            graphsSolved.incrementAndGet();
+            graphRate.record(1);
+            return metrics;
+        } finally {
+            graphsInFlight.decrementAndGet();
+        }
+    }
+
+    private List<Algorithm> algorithms(String rawQuery) {
+        if (rawQuery == null) return defaultAlgorithms;
+        for (String param : rawQuery.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq < 0 || !param.substring(0, eq).equals("algorithms")) continue;
+            List<Algorithm> selected = new ArrayList<>();
+            for (String name : URLDecoder.decode(param.substring(eq + 1), StandardCharsets.UTF_8).split(","))
+                if (!name.isBlank()) selected.add(Algorithm.fromName(name.trim()));
+            if (!selected.isEmpty()) return selected;
+        }
+        return defaultAlgorithms;
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        double uptime = (System.nanoTime() - startNanos) / 1e9;
+        StringWriter text = new StringWriter();
+        com.google.gson.stream.JsonWriter json = new com.google.gson.stream.JsonWriter(text);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("uptime_s").value(uptime);
+        json.name("requests").beginObject()
+                .name("total").value(requests.get())
+                .name("ok").value(succeeded.get())
+                .name("client_errors").value(clientErrors.get())
+                .name("rejected").value(rejected.get())
+                .name("failed").value(failed.get())
+                .endObject();
+        json.name("graphs_solved").value(graphsSolved.get());
+        json.name("graphs_solving").value(graphsInFlight.get());
+        json.name("throughput").beginObject()
+                .name("requests_per_s").value(requests.get() / uptime)
+                .name("graphs_per_s").value(graphsSolved.get() / uptime)
+                .name("graphs_per_s_1m").value(graphRate.perSecond())
+                .endObject();
+        json.name("latency_ms").beginObject();
+        histogram(json, "request", requestLatency);
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(algorithmLatency).entrySet())
+            histogram(json, e.getKey(), e.getValue());
+        json.endObject();
+        json.endObject();
+        json.flush();
+        respond(exchange, 200, "application/json", (text + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void histogram(com.google.gson.stream.JsonWriter json, String name, LatencyHistogram h) throws IOException {
+        json.name(name).beginObject()
+                .name("count").value(h.count())
+                .name("mean").value(h.meanMs())
+                .name("p50").value(h.percentileMs(50))
+                .name("p90").value(h.percentileMs(90))
+                .name("p99").value(h.percentileMs(99))
+                .name("max").value(h.maxMs())
+                .endObject();
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter text = new StringWriter();
+        new com.google.gson.stream.JsonWriter(text).beginObject().name("error").value(message).endObject().flush();
+        respond(exchange, status, "application/json", (text + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String message(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Events per second over a sliding window of whole seconds. One slot per second,
+     * reset lazily when the slot is reused.
+     */
+    private static final class RateWindow {
+        private final long[] second;
+        private final long[] count;
+
+        RateWindow(int seconds) {
+            second = new long[seconds];
+            count = new long[seconds];
+            Arrays.fill(second, -1);
+        }
+
+        synchronized void record(long n) {
+            long now = System.nanoTime() / 1_000_000_000L;
+            int slot = (int) (now % second.length);
+            if (second[slot] != now) {
+                second[slot] = now;
+                count[slot] = 0;
+            }
+            count[slot] += n;
+        }
+
+        synchronized double perSecond() {
+            long now = System.nanoTime() / 1_000_000_000L;
+            long total = 0;
+            for (int i = 0; i < second.length; i++) if (second[i] > now - second.length) total += count[i];
+            return (double) total / second.length;
+        }
+    }
+
+    /**
+     * Starts the server until the JVM is stopped. Tuned with mst.server.host (127.0.0.1),
+     * mst.server.port (8080), mst.server.maxConcurrent (CPU count), mst.server.maxQueued
+     * (4 x maxConcurrent), mst.algorithms (prim,kruskal) and mst.virtualThreads (true).
+     *
+     * <pre>
+     * mvn exec:java -Dexec.mainClass="server.MstServer"
+     * curl --data-binary @data/input/input.json localhost:8080/mst?algorithms=prim
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        List<Algorithm> algorithms = new ArrayList<>();
+        for (String name : System.getProperty("mst.algorithms", "prim,kruskal").split(","))
+            algorithms.add(Algorithm.fromName(name.trim()));
+        int maxConcurrent = Integer.getInteger("mst.server.maxConcurrent", Runtime.getRuntime().availableProcessors());
+        MstServer server = new MstServer(System.getProperty("mst.server.host", "127.0.0.1"),
+                Integer.getInteger("mst.server.port", 8080), algorithms, maxConcurrent,
+                Integer.getInteger("mst.server.maxQueued", 4 * maxConcurrent),
+                Boolean.parseBoolean(System.getProperty("mst.virtualThreads", "true")));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println("MST server listening on port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,101 @@
+package algorithms;
+
+import graph.*;
+import metrics.Metrics;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicMSTTest {
+
+    @Test
+    void testMatchesFreshRunAfterEveryUpdate() {
+        Random random = new Random(3);
+        int n = 60;
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) nodes.add("N" + i);
+        Map<String, Double> current = new LinkedHashMap<>();
+        for (int i = 1; i < n; i++) current.put(key(random.nextInt(i), i), (double) (1 + random.nextInt(50)));
+        for (int i = 0; i < 150; i++) {
+            int u = random.nextInt(n), v = random.nextInt(n);
+            if (u != v) current.putIfAbsent(key(Math.min(u, v), Math.max(u, v)), (double) (1 + random.nextInt(50)));
+        }
+
+        Graph initial = graphOf(nodes, current);
+        DynamicMST dynamic = new DynamicMST(initial, Kruskal.run(initial));
+
+        for (int step = 0; step < 500; step++) {
+            List<String> keys = new ArrayList<>(current.keySet());
+            int op = random.nextInt(3);
+            if (op == 0 || keys.isEmpty()) {
+                int u = random.nextInt(n), v = random.nextInt(n);
+                if (u == v) continue;
+                String k = key(Math.min(u, v), Math.max(u, v));
+                double w = 1 + random.nextInt(50);
+                dynamic.insertEdge("N" + Math.min(u, v), "N" + Math.max(u, v), w);
+                current.merge(k, w, Math::min);
+            } else {
+                String k = keys.get(random.nextInt(keys.size()));
+                String[] ends = k.split("\\|");
+                if (op == 1) {
+                    dynamic.deleteEdge(ends[0], ends[1]);
+                    current.remove(k);
+                } else {
+                    double w = 1 + random.nextInt(50);
+                    dynamic.updateWeight(ends[1], ends[0], w);
+                    current.put(k, w);
+                }
+            }
+
+            Metrics fresh = Kruskal.run(graphOf(nodes, current));
+            assertEquals(fresh.getTotalCost(), dynamic.getTotalCost(), 1e-9, "cost after step " + step);
+            assertEquals(fresh.getMstEdges().size(), dynamic.getMstEdges().size(), "edges after step " + step);
+            assertEquals(fresh.isConnected(), dynamic.isConnected());
+        }
+    }
+
+    @Test
+    void testStartsFromDisconnectedGraph() {
+        // Two components, {A, B, C} and {D, E}, plus the isolated vertex F.
+        List<String> nodes = List.of("A", "B", "C", "D", "E", "F");
+        List<Edge> edges = new ArrayList<>(List.of(new Edge("A", "B", 4), new Edge("B", "C", 1),
+                new Edge("A", "C", 2), new Edge("D", "E", 3), new Edge("D", "E", 7)));
+        Graph graph = new Graph(2, nodes, edges);
+
+        DynamicMST dynamic = new DynamicMST(graph);
+        assertEquals(Kruskal.run(graph).getTotalCost(), dynamic.getTotalCost());
+        assertEquals(3, dynamic.getMstEdges().size());
+        assertFalse(dynamic.isConnected());
+
+        dynamic.insertEdge("C", "D", 10);
+        dynamic.insertEdge("E", "F", 6);
+        edges.add(new Edge("C", "D", 10));
+        edges.add(new Edge("E", "F", 6));
+        assertTrue(dynamic.isConnected());
+        assertEquals(Kruskal.run(new Graph(2, nodes, edges)).getTotalCost(), dynamic.getTotalCost());
+
+        dynamic.updateWeight("A", "B", 0.5);
+        dynamic.deleteEdge("C", "D");
+        assertFalse(dynamic.isConnected());
+        assertEquals(0.5 + 1 + 3 + 6, dynamic.getTotalCost());
+
+        Metrics metrics = dynamic.toMetrics();
+        assertEquals(4, metrics.getMstEdges().size());
+        assertTrue(metrics.getExecutionTimeMs() > 0);
+    }
+
+    private static String key(int u, int v) {
+        return "N" + u + "|N" + v;
+    }
+
+    private static Graph graphOf(List<String> nodes, Map<String, Double> edges) {
+        List<Edge> list = new ArrayList<>();
+        for (Map.Entry<String, Double> e : edges.entrySet()) {
+            String[] ends = e.getKey().split("\\|");
+            list.add(new Edge(ends[0], ends[1], e.getValue()));
+        }
+        return new Graph(1, nodes, list);
+    }
+}
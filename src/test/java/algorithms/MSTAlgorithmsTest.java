@@ -1,9 +1,15 @@
 package algorithms;
 
+import com.sun.management.ThreadMXBean;
+import generator.*;
 import graph.*;
+import metrics.ForestComponent;
 import metrics.Metrics;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,6 +111,289 @@ public class MSTAlgorithmsTest {
                 "Prim MST edge count should be reproducible");
     }
 
+    @Test
+    void testCompactViewMatchesGraph() {
+        CompactGraph compact = smallGraph.getCompact();
+        assertEquals(smallGraph.getNodes().size(), compact.vertexCount());
+        assertEquals(smallGraph.getEdges().size(), compact.edgeCount());
+        assertEquals(2 * compact.edgeCount(), compact.getOffsets()[compact.vertexCount()],
+                "CSR should hold both directions of every edge");
+
+        assertEquals(Prim.run(smallGraph).getTotalCost(), Prim.run(compact).getTotalCost(), 0.0001);
+        assertEquals(Kruskal.run(smallGraph).getTotalCost(), Kruskal.run(compact).getTotalCost(), 0.0001);
+    }
+
+    @Test
+    void testKruskalReportsFindsAndUnions() {
+        Metrics kruskal = Kruskal.run(smallGraph);
+        assertEquals(smallGraph.getNodes().size() - 1, kruskal.getUnions(),
+                "Every accepted edge is exactly one union");
+        assertEquals(2 * kruskal.getOperations(), kruskal.getFinds());
+        assertTrue(kruskal.getOperations() <= smallGraph.getEdges().size());
+    }
+
+    @Test
+    void testDisjointSetHandlesLongChains() {
+        int n = 1_000_000;
+        DisjointSet ds = new DisjointSet(n);
+        for (int i = 1; i < n; i++) assertTrue(ds.union(i - 1, i));
+        assertEquals(1, ds.components());
+        assertTrue(ds.connected(0, n - 1));
+        assertFalse(ds.union(0, n - 1));
+    }
+
+    @Test
+    void testEagerPrimMatchesLazyPrim() {
+        for (int arity : new int[]{2, 3, 4, 8}) {
+            Metrics eager = Prim.runEager(smallGraph.getCompact(), arity);
+            assertEquals(Prim.run(smallGraph).getTotalCost(), eager.getTotalCost(), 0.0001);
+            assertEquals(smallGraph.getNodes().size() - 1, eager.getMstEdges().size());
+            assertEquals(smallGraph.getNodes().size(), eager.getOperations(),
+                    "Eager Prim polls each vertex exactly once");
+            assertFalse(hasCycle(eager.getMstEdges()));
+        }
+        assertFalse(Algorithm.PRIM_EAGER.run(disconnectedGraph).isConnected());
+    }
+
+    @Test
+    void testPrimRunReusesSolverBuffers() {
+        Graph g = randomGraph(1, 2000, 100_000, new Random(3));
+        CompactGraph compact = g.getCompact();
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemoryEnabled());
+
+        double cost = Prim.run(compact).getTotalCost();
+        for (int i = 0; i < 5; i++) Prim.run(compact);
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        Metrics again = Prim.run(compact);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        assertEquals(cost, again.getTotalCost());
+        // A fresh solver alone would allocate a heap of up to 2E ints (800 KB here); the result is ~100 KB.
+        assertTrue(allocated < 400_000, "Prim.run allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void testDensePrimMatchesKruskal() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 6; trial++) {
+            int vertices = 50 + random.nextInt(400);
+            // From sparse to several edges per pair (parallel edges and self-loops included).
+            Graph g = randomGraph(trial, vertices, vertices * (2 + trial * trial * 10), random);
+            Metrics dense = Prim.runDense(g);
+            Metrics kruskal = Kruskal.run(g);
+            assertEquals(Prim.run(g).getTotalCost(), dense.getTotalCost(), 1e-6);
+            assertEquals(kruskal.isConnected(), dense.isConnected());
+            if (kruskal.isConnected()) assertEquals(kruskal.getTotalCost(), dense.getTotalCost(), 1e-6);
+            assertFalse(hasCycle(dense.getMstEdges()));
+        }
+        Metrics small = Algorithm.PRIM_DENSE.run(smallGraph);
+        assertEquals(Prim.run(smallGraph).getTotalCost(), small.getTotalCost(), 0.0001);
+        assertEquals(smallGraph.getNodes().size() - 1, small.getMstEdges().size());
+        assertFalse(Prim.runDense(disconnectedGraph).isConnected());
+    }
+
+    @Test
+    void testVectorDensePrimMatchesScalar() {
+        Assumptions.assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "run with --add-modules jdk.incubator.vector");
+        assertTrue(Prim.hasVectorDenseScan());
+        Random random = new Random(29);
+        for (int trial = 0; trial < 6; trial++) {
+            // Weights 1..50, so most scans and relaxations see ties.
+            int vertices = 1 + random.nextInt(600);
+            Graph g = randomGraph(trial, vertices, vertices * (1 + trial * trial * 8), random);
+            Metrics scalar = Prim.runDense(g.getEdgeList(), false);
+            Metrics vector = Prim.runDense(g.getEdgeList(), true);
+            assertEquals(scalar.getTotalCost(), vector.getTotalCost());
+            assertEquals(scalar.getOperations(), vector.getOperations());
+            assertEquals(scalar.getMstEdges().toString(), vector.getMstEdges().toString());
+        }
+    }
+
+    @Test
+    void testReusedPrimSolverMatchesKruskal() {
+        Random random = new Random(11);
+        Prim.Solver solver = new Prim.Solver();
+        for (int trial = 0; trial < 10; trial++) {
+            // Alternate large and small graphs so stale buffer contents would show up.
+            int vertices = trial % 2 == 0 ? 2000 + random.nextInt(1000) : 20 + random.nextInt(50);
+            Graph g = randomGraph(trial, vertices, vertices * 5, random);
+            Metrics kruskal = Kruskal.run(g);
+            assertEquals(kruskal.getTotalCost(), solver.solve(g.getCompact()), 1e-6);
+            assertEquals(kruskal.isConnected(), solver.isConnected());
+            Metrics prim = solver.toMetrics(0);
+            assertFalse(hasCycle(prim.getMstEdges()));
+            assertEquals(Prim.run(g).getOperations(), prim.getOperations());
+        }
+        solver.solve(disconnectedGraph.getCompact());
+        assertFalse(solver.isConnected());
+    }
+
+    @Test
+    void testSpanningForestCoversEveryComponent() {
+        Metrics primForest = Prim.runForest(disconnectedGraph);
+        Metrics kruskalForest = Kruskal.runForest(disconnectedGraph);
+        for (Metrics forest : List.of(primForest, kruskalForest)) {
+            assertEquals(2, forest.getComponentCount());
+            assertEquals(2, forest.getComponents().get(0).getVertices());
+            assertEquals(5, forest.getComponents().get(0).getTotalCost(), 0.001);
+            assertEquals(1, forest.getComponents().get(1).getVertices());
+            assertTrue(forest.getComponents().get(1).getMstEdges().isEmpty());
+            assertFalse(forest.isConnected());
+        }
+
+        // Disjoint copies of random graphs; a threshold of 1 sends every component to the pool.
+        Random random = new Random(3);
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int copy = 0; copy < 6; copy++) {
+            Graph part = randomGraph(copy, 200 + random.nextInt(800), 4000, random);
+            for (String name : part.getNodes()) nodes.add(copy + ":" + name);
+            for (Edge e : part.getEdges()) edges.add(new Edge(copy + ":" + e.getFrom(), copy + ":" + e.getTo(), e.getWeight()));
+        }
+        Graph g = new Graph(7, nodes, edges);
+        Metrics kruskal = Kruskal.runForest(g);
+        for (Metrics forest : List.of(Prim.runForest(g.getCompact(), 1), Prim.runForest(g.getCompact(), Integer.MAX_VALUE))) {
+            assertEquals(kruskal.getComponentCount(), forest.getComponentCount());
+            assertEquals(kruskal.getTotalCost(), forest.getTotalCost(), 1e-6);
+            assertEquals(kruskal.getMstEdges().size(), forest.getMstEdges().size());
+            assertFalse(hasCycle(forest.getMstEdges()));
+            for (int c = 0; c < forest.getComponentCount(); c++) {
+                ForestComponent component = forest.getComponents().get(c);
+                assertEquals(component.getVertices() - 1, component.getMstEdges().size());
+                assertEquals(kruskal.getComponents().get(c).getTotalCost(), component.getTotalCost(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void testSortMethodsAgree() {
+        Random random = new Random(17);
+        double[] weight = new double[50_000];
+        for (int e = 0; e < weight.length; e++) {
+            weight[e] = e % 3 == 0 ? random.nextInt(100) : (random.nextDouble() - 0.3) * 1e6;
+        }
+        weight[7] = -0.0;
+        weight[8] = 0.0;
+        for (SortMethod method : SortMethod.values()) {
+            int[] edges = new int[weight.length];
+            for (int e = 0; e < edges.length; e++) edges[e] = e;
+            EdgeSort.sort(edges, 0, edges.length, weight, method, 1 << 10);
+            for (int i = 1; i < edges.length; i++) {
+                int a = edges[i - 1], b = edges[i];
+                int cmp = Double.compare(weight[a], weight[b]);
+                assertTrue(cmp < 0 || cmp == 0 && a < b, method + " out of order at " + i);
+            }
+        }
+
+        Graph g = randomGraph(1, 3000, 60_000, random);
+        Metrics expected = Kruskal.run(g.getCompact(), SortMethod.PARALLEL, Integer.MAX_VALUE);
+        for (SortMethod method : SortMethod.values()) {
+            Metrics kruskal = Kruskal.run(g.getCompact(), method, 1 << 10);
+            assertEquals(expected.getTotalCost(), kruskal.getTotalCost(), 1e-9);
+            assertEquals(expected.getOperations(), kruskal.getOperations(), "ties must break by edge index");
+        }
+    }
+
+    @Test
+    void testExternalKruskalMatchesInMemory(@TempDir Path dir) throws Exception {
+        Random random = new Random(23);
+        List<Graph> graphs = List.of(randomGraph(1, 2000, 30_000, random), randomGraph(2, 3000, 2500, random),
+                smallGraph, disconnectedGraph);
+        for (Graph g : graphs) {
+            Metrics expected = Kruskal.run(g);
+            ExternalKruskal external = new ExternalKruskal(1000, dir);
+            Metrics actual = external.run(g.getCompact());
+            assertEquals(expected.getTotalCost(), actual.getTotalCost());
+            assertEquals(expected.getOperations(), actual.getOperations());
+            assertEquals(expected.getEdges(), actual.getEdges());
+            assertEquals(expected.isConnected(), actual.isConnected());
+            assertEquals(expected.getFinds(), actual.getFinds());
+            assertEquals(expected.getUnions(), actual.getUnions());
+            assertEquals(expected.getMstEdges().toString(), actual.getMstEdges().toString());
+            assertEquals((g.edgeCount() + 999) / 1000 > 1 ? (g.edgeCount() + 999) / 1000 : 0, external.runsWritten());
+        }
+        try (var leftovers = Files.list(dir)) {
+            assertEquals(0, leftovers.count(), "run files must be deleted");
+        }
+
+        GraphGenerator generator = new GraphGenerator(GraphModel.ERDOS_RENYI, 5000, 80_000, 3);
+        Metrics streamed = new ExternalKruskal(7000, dir).run(1, 5000, GraphGenerator::name, generator::generate);
+        Metrics inMemory = Kruskal.run(generator.toCompact(1));
+        assertEquals(inMemory.getTotalCost(), streamed.getTotalCost());
+        assertEquals(inMemory.getMstEdges().toString(), streamed.getMstEdges().toString());
+    }
+
+    @Test
+    void testIndexedHeapDecreaseKey() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6, 3);
+        heap.insert(0, 5);
+        heap.insert(1, 3);
+        heap.insert(2, 8);
+        heap.insert(3, 1);
+        assertFalse(heap.offer(2, 9));
+        assertTrue(heap.offer(2, 0.5));
+        assertEquals(2, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testBoruvkaMatchesKruskal() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 20; trial++) {
+            Graph g = randomGraph(trial, 50 + random.nextInt(3000), random.nextInt(20000), random);
+            Metrics kruskal = Kruskal.run(g);
+            for (int parallelism : new int[]{1, 4}) {
+                Metrics boruvka = Boruvka.run(g.getCompact(), parallelism);
+                assertEquals(kruskal.getTotalCost(), boruvka.getTotalCost(), 1e-6);
+                assertEquals(kruskal.getMstEdges().size(), boruvka.getMstEdges().size());
+                assertEquals(kruskal.isConnected(), boruvka.isConnected());
+                assertFalse(hasCycle(boruvka.getMstEdges()));
+            }
+            assertEquals(kruskal.getTotalCost(), Algorithm.BORUVKA.run(g).getTotalCost(), 1e-6);
+        }
+        // Every run(Graph) uses the one shared pool rather than starting its own.
+        assertSame(Boruvka.pool(), Boruvka.pool());
+        assertEquals(Boruvka.DEFAULT_PARALLELISM, Boruvka.pool().getParallelism());
+        assertFalse(Boruvka.pool().isShutdown());
+    }
+
+    @Test
+    void testFilterKruskalMatchesKruskal() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 10; trial++) {
+            Graph g = randomGraph(trial, 100 + random.nextInt(2000), 5000 + random.nextInt(40000), random);
+            Metrics kruskal = Kruskal.run(g);
+            Metrics filter = FilterKruskal.run(g);
+            assertEquals(kruskal.getTotalCost(), filter.getTotalCost(), 1e-6);
+            assertEquals(kruskal.getMstEdges().size(), filter.getMstEdges().size());
+            assertFalse(hasCycle(filter.getMstEdges()));
+        }
+
+        List<Edge> fractional = new ArrayList<>();
+        for (int i = 1; i < 3000; i++) fractional.add(new Edge("N" + (i - 1), "N" + i, 0.1 * (i % 17) + 1e-9 * i));
+        for (int i = 2; i < 3000; i += 3) fractional.add(new Edge("N0", "N" + i, 0.05 * (i % 23)));
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) nodes.add("N" + i);
+        Graph g = new Graph(99, nodes, fractional);
+        assertEquals(Kruskal.run(g).getTotalCost(), FilterKruskal.run(g).getTotalCost(), 1e-9);
+    }
+
+    private Graph randomGraph(int id, int vertices, int edgeCount, Random random) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) nodes.add("N" + i);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < edgeCount; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    1 + random.nextInt(50)));
+        }
+        return new Graph(id, nodes, edges);
+    }
+
     private boolean isConnected(List<String> nodes, List<Edge> edges) {
         Map<String, List<String>> adj = new HashMap<>();
         for (String n : nodes) adj.put(n, new ArrayList<>());
@@ -0,0 +1,107 @@
+package algorithms;
+
+import graph.*;
+import metrics.Metrics;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MstPathIndexTest {
+
+    @Test
+    void testMatchesTreeWalk() {
+        Random random = new Random(31);
+        for (int trial = 0; trial < 5; trial++) {
+            // Every fourth trial leaves vertices out of the spanning edges, so the MST is a forest.
+            Graph g = randomGraph(trial, 300 + random.nextInt(1500), trial % 4 == 3 ? 900 : 6000, random);
+            Metrics mst = Kruskal.run(g);
+            MstPathIndex index = new MstPathIndex(mst);
+            Map<String, List<Edge>> tree = new HashMap<>();
+            for (Edge e : mst.getMstEdges()) {
+                tree.computeIfAbsent(e.getFrom(), k -> new ArrayList<>()).add(e);
+                tree.computeIfAbsent(e.getTo(), k -> new ArrayList<>()).add(e);
+            }
+
+            int queries = 2000;
+            int[] from = new int[queries], to = new int[queries];
+            for (int q = 0; q < queries; q++) {
+                from[q] = random.nextInt(index.vertexCount());
+                to[q] = random.nextInt(index.vertexCount());
+                List<Edge> path = walk(tree, index.name(from[q]), index.name(to[q]));
+                if (path == null) {
+                    assertTrue(Double.isNaN(index.maxWeight(from[q], to[q])));
+                    assertEquals(-1, index.hops(from[q], to[q]));
+                    continue;
+                }
+                double max = Double.NEGATIVE_INFINITY, length = 0;
+                for (Edge e : path) {
+                    max = Math.max(max, e.getWeight());
+                    length += e.getWeight();
+                }
+                assertEquals(max, index.maxWeight(from[q], to[q]));
+                assertEquals(length, index.pathLength(from[q], to[q]), 1e-9);
+                assertEquals(path.size(), index.hops(from[q], to[q]));
+                Edge heaviest = index.heaviestEdge(index.name(from[q]), index.name(to[q]));
+                if (path.isEmpty()) assertNull(heaviest);
+                else assertEquals(max, heaviest.getWeight());
+            }
+
+            double[] maxes = index.maxWeights(from, to);
+            double[] lengths = index.pathLengths(from, to);
+            for (int q = 0; q < queries; q++) {
+                assertEquals(index.maxWeight(from[q], to[q]), maxes[q]);
+                assertEquals(index.pathLength(from[q], to[q]), lengths[q]);
+            }
+        }
+    }
+
+    @Test
+    void testRejectsCyclesAndUnknownVertices() {
+        List<Edge> cycle = List.of(new Edge("A", "B", 1), new Edge("B", "C", 2), new Edge("C", "A", 3));
+        assertThrows(IllegalArgumentException.class, () -> new MstPathIndex(cycle));
+        MstPathIndex index = new MstPathIndex(List.of(new Edge("A", "B", 1), new Edge("B", "C", 2)));
+        assertEquals(2, index.maxWeight("A", "C"));
+        assertEquals(3, index.pathLength("C", "A"));
+        assertThrows(IllegalArgumentException.class, () -> index.maxWeight("A", "Z"));
+    }
+
+    /** Edges on the tree path from a to b by DFS, or null if b is unreachable. */
+    private static List<Edge> walk(Map<String, List<Edge>> tree, String a, String b) {
+        Map<String, Edge> via = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        via.put(a, null);
+        stack.push(a);
+        while (!stack.isEmpty()) {
+            String u = stack.pop();
+            if (u.equals(b)) break;
+            for (Edge e : tree.getOrDefault(u, List.of())) {
+                String w = e.getFrom().equals(u) ? e.getTo() : e.getFrom();
+                if (!via.containsKey(w)) {
+                    via.put(w, e);
+                    stack.push(w);
+                }
+            }
+        }
+        if (!via.containsKey(b)) return null;
+        List<Edge> path = new ArrayList<>();
+        for (String x = b; !x.equals(a); ) {
+            Edge e = via.get(x);
+            path.add(e);
+            x = e.getFrom().equals(x) ? e.getTo() : e.getFrom();
+        }
+        return path;
+    }
+
+    private static Graph randomGraph(int id, int vertices, int edgeCount, Random random) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) nodes.add("N" + i);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < edgeCount; i++) {
+            edges.add(new Edge(nodes.get(random.nextInt(vertices)), nodes.get(random.nextInt(vertices)),
+                    1 + random.nextInt(50) + random.nextInt(1000) / 1000.0));
+        }
+        return new Graph(id, nodes, edges);
+    }
+}
@@ -0,0 +1,116 @@
+package binary;
+
+import algorithms.Algorithm;
+import algorithms.Kruskal;
+import graph.*;
+import json.JsonReader;
+import metrics.Metrics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testJsonToBinaryRoundTrip() throws Exception {
+        Path json = dir.resolve("input.json");
+        Files.writeString(json, "{\"graphs\": ["
+                + "{\"id\": 7, \"nodes\": [\"Almaty\", \"Astana\", \"Şymkent\"], \"edges\": ["
+                + "{\"from\": \"Almaty\", \"to\": \"Astana\", \"weight\": 12.25},"
+                + "{\"from\": \"Astana\", \"to\": \"Şymkent\", \"weight\": 3}]},"
+                + "{\"id\": 8, \"nodes\": [\"A\"], \"edges\": []}]}");
+        Path bin = dir.resolve("input" + BinaryGraphFormat.EXTENSION);
+
+        assertEquals(2, GraphConverter.convert(json.toString(), bin.toString()));
+        assertTrue(BinaryGraphFormat.isBinary(bin.toString()));
+        assertFalse(BinaryGraphFormat.isBinary(json.toString()));
+
+        try (BinaryGraphReader reader = new BinaryGraphReader(bin.toString())) {
+            assertEquals(2, reader.graphCount());
+            MappedGraph mapped = reader.nextMapped();
+            assertEquals(7, mapped.getId());
+            assertEquals("Şymkent", mapped.name(2));
+            assertEquals(1, mapped.from(1));
+            assertEquals(12.25, mapped.weight(0));
+        }
+
+        List<Graph> fromJson = JsonReader.readGraphs(json.toString());
+        List<Graph> fromBinary = JsonReader.readGraphs(bin.toString());
+        assertEquals(fromJson.size(), fromBinary.size());
+        for (int i = 0; i < fromJson.size(); i++) {
+            assertEquals(fromJson.get(i).getNodes(), fromBinary.get(i).getNodes());
+            assertEquals(Kruskal.run(fromJson.get(i)).getTotalCost(), Kruskal.run(fromBinary.get(i)).getTotalCost());
+        }
+    }
+
+    @Test
+    void testKruskalAndPrimSolveMappedGraphWithoutCopy() throws Exception {
+        Path json = dir.resolve("mapped.json");
+        Files.writeString(json, "{\"graphs\": [{\"id\": 3, \"nodes\": [\"A\", \"B\", \"C\", \"D\", \"E\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 4}, {\"from\": \"A\", \"to\": \"C\", \"weight\": 1},"
+                + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 2}, {\"from\": \"C\", \"to\": \"D\", \"weight\": 5},"
+                + "{\"from\": \"B\", \"to\": \"D\", \"weight\": 3}, {\"from\": \"D\", \"to\": \"E\", \"weight\": 7}]}]}");
+        Path bin = dir.resolve("mapped" + BinaryGraphFormat.EXTENSION);
+        GraphConverter.convert(json.toString(), bin.toString());
+        Graph expected = JsonReader.readGraphs(json.toString()).get(0);
+
+        try (BinaryGraphReader reader = new BinaryGraphReader(bin.toString())) {
+            Graph graph = reader.next();
+            assertInstanceOf(MappedGraph.class, graph.getEdgeList());
+            for (Algorithm algorithm : List.of(Algorithm.KRUSKAL, Algorithm.KRUSKAL_FOREST, Algorithm.PRIM,
+                    Algorithm.PRIM_EAGER, Algorithm.PRIM_FOREST, Algorithm.PRIM_DENSE)) {
+                Metrics fromBinary = algorithm.run(graph);
+                Metrics fromJson = algorithm.run(expected);
+                assertEquals(fromJson.getTotalCost(), fromBinary.getTotalCost(), algorithm.label());
+                assertEquals(fromJson.getMstEdges().size(), fromBinary.getMstEdges().size(), algorithm.label());
+            }
+            // Nothing above needed the heap copy, so no name was interned yet.
+            assertInstanceOf(MappedGraph.class, graph.getEdgeList());
+            assertEquals(0, reader.getSymbols().size());
+
+            CompactGraph copy = graph.getCompact();
+            assertSame(copy, graph.getEdgeList());
+            assertEquals(5, reader.getSymbols().size());
+            assertEquals(Algorithm.BORUVKA.run(expected).getTotalCost(), Algorithm.BORUVKA.run(graph).getTotalCost());
+        }
+    }
+
+    @Test
+    void testChecksNameOffsetsOnLoadAndEndpointsOnValidate() throws Exception {
+        Path json = dir.resolve("small.json");
+        Files.writeString(json, "[{\"id\": 1, \"nodes\": [\"A\", \"B\"], \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}]}]");
+        Path bin = dir.resolve("small" + BinaryGraphFormat.EXTENSION);
+        GraphConverter.convert(json.toString(), bin.toString());
+        int offsets = BinaryGraphFormat.FILE_HEADER_BYTES + BinaryGraphFormat.GRAPH_HEADER_BYTES;
+        int edges = offsets + BinaryGraphFormat.edgesOffset(2, 2);
+
+        Path badEdge = dir.resolve("bad-edge" + BinaryGraphFormat.EXTENSION);
+        Files.write(badEdge, patch(Files.readAllBytes(bin), edges, 99));
+        try (BinaryGraphReader reader = new BinaryGraphReader(badEdge.toString())) {
+            MappedGraph mapped = reader.nextMapped();
+            assertEquals("B", mapped.name(1));
+            assertSame(mapped.name(1), mapped.name(1), "decoded names are kept");
+            assertThrows(IllegalArgumentException.class, mapped::validate);
+            assertThrows(IllegalArgumentException.class, mapped::toCompact);
+        }
+
+        Path badName = dir.resolve("bad-name" + BinaryGraphFormat.EXTENSION);
+        Files.write(badName, patch(Files.readAllBytes(bin), offsets + 4, 7));
+        try (BinaryGraphReader reader = new BinaryGraphReader(badName.toString())) {
+            assertThrows(IllegalArgumentException.class, reader::nextMapped);
+        }
+    }
+
+    private static byte[] patch(byte[] bytes, int at, int value) {
+        ByteBuffer.wrap(bytes).order(BinaryGraphFormat.ORDER).putInt(at, value);
+        return bytes;
+    }
+}
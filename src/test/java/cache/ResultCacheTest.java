@@ -0,0 +1,92 @@
+package cache;
+
+import algorithms.Algorithm;
+import graph.*;
+import metrics.Metrics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private Graph graph(int id, double lastWeight) {
+        List<String> nodes = Arrays.asList("A", "B", "C", "D");
+        List<Edge> edges = Arrays.asList(
+                new Edge("A", "B", 1), new Edge("B", "C", 2),
+                new Edge("C", "D", 3), new Edge("A", "D", lastWeight));
+        return new Graph(id, nodes, edges);
+    }
+
+    @Test
+    void testHitsSurviveRestartAndKeepResults() throws Exception {
+        ResultCache cache = new ResultCache(dir.toString(), 1 << 20);
+        Metrics first = cache.run(Algorithm.KRUSKAL, graph(1, 10));
+        assertEquals(0, cache.hits());
+        assertEquals(1, cache.misses());
+
+        ResultCache reopened = new ResultCache(dir.toString(), 1 << 20);
+        Metrics cached = reopened.run(Algorithm.KRUSKAL, graph(5, 10));
+        assertEquals(1, reopened.hits());
+        assertEquals(5, cached.getGraphId());
+        assertEquals(first.getTotalCost(), cached.getTotalCost());
+        assertEquals(first.getOperations(), cached.getOperations());
+        assertEquals(first.getMstEdges().size(), cached.getMstEdges().size());
+        assertEquals(first.getMstEdges().get(2).getTo(), cached.getMstEdges().get(2).getTo());
+
+        reopened.run(Algorithm.PRIM, graph(5, 10));
+        reopened.run(Algorithm.KRUSKAL, graph(5, 0.5));
+        assertEquals(2, reopened.misses(), "Algorithm and content changes must miss");
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws Exception {
+        ResultCache probe = new ResultCache(dir.resolve("probe").toString(), 1 << 20);
+        probe.run(Algorithm.KRUSKAL, graph(1, 10));
+        long entryBytes = probe.sizeBytes();
+
+        ResultCache cache = new ResultCache(dir.resolve("lru").toString(), 2 * entryBytes);
+        cache.run(Algorithm.KRUSKAL, graph(1, 10));
+        cache.run(Algorithm.KRUSKAL, graph(1, 11));
+        cache.run(Algorithm.KRUSKAL, graph(1, 10));
+        cache.run(Algorithm.KRUSKAL, graph(1, 12));
+        assertEquals(2, cache.size());
+
+        cache.run(Algorithm.KRUSKAL, graph(1, 10));
+        assertEquals(2, cache.hits(), "Recently used entry must survive eviction");
+        cache.run(Algorithm.KRUSKAL, graph(1, 11));
+        assertEquals(4, cache.misses(), "Least recently used entry must have been evicted");
+    }
+
+    @Test
+    void testHitReportsLookupTimeNotOriginalRun() throws Exception {
+        ResultCache cache = new ResultCache(dir.toString(), 1 << 20);
+        Metrics first = cache.run(Algorithm.KRUSKAL, graph(1, 10));
+        assertFalse(first.isCached());
+
+        Metrics hit = cache.run(Algorithm.KRUSKAL, graph(1, 10));
+        assertTrue(hit.isCached());
+        assertTrue(hit.summary().isCached());
+        assertNotEquals(first.getExecutionTimeMs(), hit.getExecutionTimeMs());
+        assertTrue(hit.getExecutionTimeMs() >= 0);
+    }
+
+    @Test
+    void testStoresNamesLongerThan64KB() throws Exception {
+        String longName = "v".repeat(70_000);
+        List<Edge> edges = Arrays.asList(new Edge(longName, "B", 1), new Edge("B", "C", 2));
+        ResultCache cache = new ResultCache(dir.toString(), 1 << 20);
+        cache.run(Algorithm.PRIM, new Graph(1, Arrays.asList(longName, "B", "C"), edges));
+        assertEquals(1, cache.size(), "Entry must be stored");
+
+        Metrics hit = cache.run(Algorithm.PRIM, new Graph(2, Arrays.asList(longName, "B", "C"), edges));
+        assertEquals(1, cache.hits());
+        assertTrue(hit.getMstEdges().stream().anyMatch(e -> e.getFrom().equals(longName) || e.getTo().equals(longName)));
+    }
+}
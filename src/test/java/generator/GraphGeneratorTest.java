@@ -0,0 +1,54 @@
+package generator;
+
+import algorithms.Kruskal;
+import graph.*;
+import json.JsonReader;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testModelsAreReproducibleAndSized() {
+        for (GraphModel model : GraphModel.values()) {
+            GraphGenerator generator = new GraphGenerator(model, 400, 1600, 5);
+            CompactGraph a = generator.toCompact(1);
+            CompactGraph b = new GraphGenerator(model, 400, 1600, 5).toCompact(1);
+            assertArrayEquals(a.getFrom(), b.getFrom(), model + " must be reproducible");
+            assertArrayEquals(a.getWeights(), b.getWeights(), model + " must be reproducible");
+            for (int e = 0; e < a.edgeCount(); e++) assertNotEquals(a.from(e), a.to(e), model + " produced a self-loop");
+            if (model != GraphModel.GEOMETRIC) {
+                assertEquals(generator.expectedEdges(), a.edgeCount(), model + " edge count");
+                assertTrue(Kruskal.run(a).isConnected(), model + " should be connected");
+            }
+        }
+        assertEquals(400 * 399 / 2, new GraphGenerator(GraphModel.COMPLETE, 400, 0, 1).toCompact(1).edgeCount());
+    }
+
+    @Test
+    void testWritesReadableJsonAndBinary() throws Exception {
+        List<GraphGenerator> graphs = List.of(
+                new GraphGenerator(GraphModel.ERDOS_RENYI, 50, 200, 1),
+                new GraphGenerator(GraphModel.GRID, 49, 100, 2));
+        for (String name : new String[]{"gen.json", "gen.mstg"}) {
+            String path = dir.resolve(name).toString();
+            GeneratedGraphWriter.write(path, graphs);
+            List<Graph> read = JsonReader.readGraphs(path);
+            assertEquals(2, read.size());
+            for (int i = 0; i < 2; i++) {
+                CompactGraph expected = graphs.get(i).toCompact(i + 1);
+                assertEquals(i + 1, read.get(i).getId());
+                assertEquals(expected.edgeCount(), read.get(i).edgeCount());
+                assertEquals(Kruskal.run(expected).getTotalCost(), Kruskal.run(read.get(i)).getTotalCost(), 1e-9);
+            }
+        }
+    }
+}
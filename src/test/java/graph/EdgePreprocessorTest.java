@@ -0,0 +1,74 @@
+package graph;
+
+import algorithms.Kruskal;
+import algorithms.Prim;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgePreprocessorTest {
+
+    @Test
+    void testKeepsLightestEdgePerPairAndDropsSelfLoops() {
+        List<Edge> edges = List.of(
+                new Edge("A", "B", 4), new Edge("B", "A", 2), new Edge("A", "A", 1),
+                new Edge("B", "C", 3), new Edge("C", "B", 3), new Edge("C", "C", 0), new Edge("A", "C", 5));
+        CompactGraph g = CompactGraph.of(new Graph(1, List.of("A", "B", "C"), edges));
+        EdgePreprocessor.Result r = EdgePreprocessor.run(g);
+
+        assertEquals(2, r.selfLoops());
+        assertEquals(2, r.parallelEdges());
+        assertEquals(4, r.eliminated());
+        CompactGraph cleaned = r.graph();
+        assertEquals(3, cleaned.edgeCount());
+        assertEquals(List.of("A", "B", "C"), Arrays.asList(cleaned.getNames()));
+        // Survivors keep input order; on equal weights the first edge wins.
+        assertArrayEquals(new int[]{0, 1, 0}, cleaned.getFrom());
+        assertArrayEquals(new int[]{1, 2, 2}, cleaned.getTo());
+        assertArrayEquals(new double[]{2, 3, 5}, cleaned.getWeights());
+    }
+
+    @Test
+    void testReturnsSameGraphWhenNothingChanges() {
+        CompactGraph g = CompactGraph.of(new Graph(1, List.of("A", "B", "C"),
+                List.of(new Edge("A", "B", 1), new Edge("B", "C", 2))));
+        EdgePreprocessor.Result r = EdgePreprocessor.run(g);
+        assertSame(g, r.graph());
+        assertEquals(0, r.eliminated());
+    }
+
+    @Test
+    void testParallelMatchesSequentialAndKeepsMstCost() {
+        Random random = new Random(19);
+        int n = 400;
+        List<String> nodes = new ArrayList<>();
+        for (int v = 0; v < n; v++) nodes.add("N" + v);
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 20000; e++) {
+            edges.add(new Edge(nodes.get(random.nextInt(n)), nodes.get(random.nextInt(n)), 1 + random.nextInt(100)));
+        }
+        Graph graph = new Graph(7, nodes, edges);
+        CompactGraph g = graph.getCompact();
+
+        EdgePreprocessor.Result sequential = EdgePreprocessor.run(g, Integer.MAX_VALUE);
+        EdgePreprocessor.Result parallel = EdgePreprocessor.run(g, 0);
+        assertTrue(sequential.selfLoops() > 0 && sequential.parallelEdges() > 0);
+        assertEquals(sequential.selfLoops(), parallel.selfLoops());
+        assertEquals(sequential.parallelEdges(), parallel.parallelEdges());
+        assertArrayEquals(sequential.graph().getFrom(), parallel.graph().getFrom());
+        assertArrayEquals(sequential.graph().getTo(), parallel.graph().getTo());
+        assertArrayEquals(sequential.graph().getWeights(), parallel.graph().getWeights());
+
+        Set<Long> pairs = new HashSet<>();
+        CompactGraph cleaned = sequential.graph();
+        for (int e = 0; e < cleaned.edgeCount(); e++) {
+            assertTrue(cleaned.from(e) < cleaned.to(e));
+            assertTrue(pairs.add(EdgePreprocessor.pair(cleaned.from(e), cleaned.to(e))));
+        }
+        Graph solved = new Graph(cleaned);
+        assertEquals(Kruskal.run(graph).getTotalCost(), Kruskal.run(solved).getTotalCost(), 1e-9);
+        assertEquals(Prim.run(graph).getTotalCost(), Prim.run(solved).getTotalCost(), 1e-9);
+    }
+}
@@ -0,0 +1,94 @@
+package json;
+
+import graph.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonReaderTest {
+
+    private static final String GRAPH_1 = "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+            + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 4}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 2.5}]}";
+    private static final String GRAPH_2 = "{\"edges\": [{\"weight\": 1, \"to\": \"Y\", \"from\": \"X\"}],"
+            + " \"extra\": {\"ignored\": true}, \"nodes\": [\"X\", \"Y\"], \"id\": 2}";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testReadsWrappedGraphs() throws Exception {
+        Path file = write("wrapped.json", "{\"graphs\": [" + GRAPH_1 + ", " + GRAPH_2 + "], \"meta\": 1}");
+        List<Graph> graphs = JsonReader.readGraphs(file.toString());
+
+        assertEquals(2, graphs.size());
+        Graph g = graphs.get(0);
+        assertEquals(1, g.getId());
+        assertEquals(List.of("A", "B", "C"), g.getNodes());
+        assertEquals(2, g.edgeCount());
+        assertEquals("B", g.getEdges().get(1).getFrom());
+        assertEquals(2.5, g.getEdges().get(1).getWeight());
+    }
+
+    @Test
+    void testReadsBareArrayWithFieldsInAnyOrder() throws Exception {
+        Path file = write("bare.json", "[" + GRAPH_2 + "]");
+        try (Stream<Graph> graphs = JsonReader.streamGraphs(file.toString())) {
+            List<Graph> list = graphs.collect(Collectors.toList());
+            assertEquals(1, list.size());
+            CompactGraph c = list.get(0).getCompact();
+            assertEquals(2, c.getId());
+            assertEquals("X", c.name(c.from(0)));
+            assertEquals("Y", c.name(c.to(0)));
+        }
+    }
+
+    @Test
+    void testRejectsUnknownVertex() throws Exception {
+        Path file = write("bad.json", "[{\"id\": 3, \"nodes\": [\"A\"], \"edges\": [{\"from\": \"A\", \"to\": \"Z\", \"weight\": 1}]}]");
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.readGraphs(file.toString()));
+    }
+
+    @Test
+    void testSharesVertexNamesAcrossGraphs() throws Exception {
+        String graph3 = "{\"id\": 3, \"nodes\": [\"C\", \"A\"], \"edges\": [{\"from\": \"C\", \"to\": \"A\", \"weight\": 1}]}";
+        String graph4 = "{\"id\": 4, \"nodes\": [\"B\"], \"edges\": [{\"from\": \"B\", \"to\": \"A\", \"weight\": 1}]}";
+        Path file = write("shared.json", "[" + GRAPH_1 + ", " + graph3 + ", " + graph4 + "]");
+        try (GraphStreamReader reader = new GraphStreamReader(file.toString())) {
+            CompactGraph g1 = reader.next().getCompact();
+            CompactGraph g3 = reader.next().getCompact();
+            assertSame(g1.name(0), g3.name(1), "label A is pooled");
+            assertSame(g1.name(2), g3.name(0), "label C is pooled");
+            assertEquals(1, g3.to(0));
+            assertEquals(3, reader.getSymbols().size());
+            // A is known to the file but not a node of graph 4.
+            assertThrows(IllegalArgumentException.class, reader::next);
+        }
+    }
+
+    @Test
+    void testStartsNewSymbolTableWhenFull() throws Exception {
+        StringBuilder json = new StringBuilder("[{\"id\": 1, \"nodes\": [");
+        for (int v = 0; v < SymbolTable.READER_LIMIT; v++) json.append(v == 0 ? "" : ",").append("\"N").append(v).append('"');
+        json.append("], \"edges\": []}, {\"id\": 2, \"nodes\": [\"N1\", \"X\"], \"edges\": [{\"from\": \"N1\", \"to\": \"X\", \"weight\": 1}]}]");
+        Path file = write("full.json", json.toString());
+        try (GraphStreamReader reader = new GraphStreamReader(file.toString())) {
+            reader.next();
+            assertEquals(SymbolTable.READER_LIMIT, reader.getSymbols().size());
+            CompactGraph g2 = reader.next().getCompact();
+            assertEquals(2, reader.getSymbols().size(), "a full pool is replaced before the next graph");
+            assertEquals("N1", g2.name(g2.from(0)));
+            assertEquals("X", g2.name(g2.to(0)));
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = dir.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,121 @@
+package json;
+
+import algorithms.Algorithm;
+import graph.Edge;
+import graph.Graph;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import metrics.ForestComponent;
+import metrics.Metrics;
+import org.junit.jupiter.api.*;
+
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonWriterTest {
+
+    @Test
+    void testKeepsCompactEdgeLayout() throws Exception {
+        List<Edge> edges = List.of(new Edge("N1", "N2", 2), new Edge("N2", "N3", 3));
+        Metrics prim = new Metrics("Prim", 1, 3, 2, 5, 2, 0.0256, true, edges);
+        Metrics kruskal = new Metrics("Kruskal", 1, 3, 2, 5, 2, 0.047, true, List.of());
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.write(prim, kruskal);
+        }
+
+        String expected = "{\n"
+                + "  \"results\": [\n"
+                + "    {\n"
+                + "      \"graph_id\": 1,\n"
+                + "      \"input_stats\": {\n"
+                + "        \"vertices\": 3,\n"
+                + "        \"edges\": 2\n"
+                + "      },\n"
+                + "      \"prim\": {\n"
+                + "        \"mst_edges\": [{\"from\":\"N1\", \"to\":\"N2\", \"weight\":2.0},\n"
+                + "          {\"from\":\"N2\", \"to\":\"N3\", \"weight\":3.0}],\n"
+                + "        \"total_cost\": 5.0,\n"
+                + "        \"operations_count\": 2,\n"
+                + "        \"execution_time_ms\": 0.0256\n"
+                + "      },\n"
+                + "      \"kruskal\": {\n"
+                + "        \"mst_edges\": [\n"
+                + "        ],\n"
+                + "        \"total_cost\": 5.0,\n"
+                + "        \"operations_count\": 2,\n"
+                + "        \"execution_time_ms\": 0.047\n"
+                + "      }\n"
+                + "    }\n"
+                + "  ]\n"
+                + "}";
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    void testAppendsCacheCountersWhenSet() throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setCacheCounters(3, 1);
+        }
+        assertTrue(out.toString().endsWith("  ],\n  \"cache\": {\n    \"hits\": 3,\n    \"misses\": 1\n  }\n}"),
+                out.toString());
+    }
+
+    @Test
+    void testWritesForestComponents() throws Exception {
+        List<Edge> edges = List.of(new Edge("A", "B", 5));
+        Metrics forest = new Metrics("PrimForest", 2, 3, 1, 5, 1, 0.01, false, edges);
+        forest.setComponents(List.of(new ForestComponent(2, 5, edges), new ForestComponent(1, 0, List.of())));
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.write(List.of(forest));
+        }
+
+        String expected = "        \"execution_time_ms\": 0.01,\n"
+                + "        \"component_count\": 2,\n"
+                + "        \"components\": [\n"
+                + "          {\n"
+                + "            \"vertices\": 2,\n"
+                + "            \"total_cost\": 5.0,\n"
+                + "            \"mst_edges\": [{\"from\":\"A\", \"to\":\"B\", \"weight\":5.0}]\n"
+                + "          },\n"
+                + "          {\n"
+                + "            \"vertices\": 1,\n"
+                + "            \"total_cost\": 0.0,\n"
+                + "            \"mst_edges\": [\n"
+                + "            ]\n"
+                + "          }\n"
+                + "        ]\n"
+                + "      }\n";
+        assertTrue(out.toString().contains(expected), out.toString());
+        JsonObject parsed = JsonParser.parseString(out.toString()).getAsJsonObject();
+        JsonObject block = parsed.getAsJsonArray("results").get(0).getAsJsonObject().getAsJsonObject("primforest");
+        assertEquals(2, block.getAsJsonArray("components").size());
+    }
+
+    @Test
+    void testKruskalAndExternalKruskalGetDistinctKeys() throws Exception {
+        Graph graph = new Graph(4, List.of("A", "B", "C"),
+                List.of(new Edge("A", "B", 1), new Edge("B", "C", 2), new Edge("A", "C", 3)));
+        Metrics kruskal = Algorithm.KRUSKAL.run(graph);
+        Metrics external = Algorithm.KRUSKAL_EXTERNAL.run(graph);
+        assertEquals(Algorithm.KRUSKAL_EXTERNAL.label(), external.getAlgorithm());
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.write(kruskal, external);
+        }
+
+        String json = out.toString();
+        assertEquals(json.indexOf("\"kruskal\":"), json.lastIndexOf("\"kruskal\":"), json);
+        JsonObject block = JsonParser.parseString(json).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject();
+        assertEquals(3.0, block.getAsJsonObject("kruskal").get("total_cost").getAsDouble());
+        assertEquals(3.0, block.getAsJsonObject("kruskalexternal").get("total_cost").getAsDouble());
+    }
+}
@@ -0,0 +1,105 @@
+package metrics;
+
+import graph.Edge;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testNumbersMatchStringFormat() throws Exception {
+        Random random = new Random(1);
+        List<Double> values = new ArrayList<>(List.of(0.0, -0.0, 0.125, 0.285, 1.005, 2.675, -1.5, 0.0005, -0.0004,
+                999.9995, 1e15, 123456789012.345678, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY));
+        for (int i = 0; i < 20_000; i++) {
+            double v = random.nextDouble() * Math.pow(10, random.nextInt(12) - 4);
+            values.add(random.nextBoolean() ? v : -v);
+            values.add(Math.round(v * 1000) / 1000.0 + 0.0005);
+        }
+
+        Path file = dir.resolve("numbers.csv");
+        StringBuilder expected = new StringBuilder("value\n");
+        try (CsvSink sink = new CsvSink(file.toString(), "value")) {
+            for (double v : values) {
+                for (int decimals = 0; decimals <= 6; decimals++) {
+                    sink.field(v, decimals);
+                    expected.append(String.format(Locale.US, decimals == 0 ? "%.0f" : ",%." + decimals + "f", v));
+                }
+                long l = (long) (v * 1e6);
+                sink.field(l).endRow();
+                expected.append(',').append(l).append('\n');
+            }
+            sink.field(Long.MIN_VALUE).field("é,x").endRow();
+            expected.append(Long.MIN_VALUE).append(",é,x\n");
+        }
+        List<String> actual = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String> wanted = Arrays.asList(expected.toString().split("\n"));
+        for (int i = 0; i < wanted.size(); i++) assertEquals(wanted.get(i), actual.get(i), "row " + i);
+    }
+
+    @Test
+    void testAppendRotateAndGzip() throws Exception {
+        Path plain = dir.resolve("runs.csv");
+        for (int run = 0; run < 2; run++) {
+            try (CsvSink sink = new CsvSink(plain.toString(), "run,value", true, 0, false)) {
+                sink.field(run).field(1.5, 1).endRow();
+            }
+        }
+        assertEquals(List.of("run,value", "0,1.5", "1,1.5"), Files.readAllLines(plain));
+
+        Path rotating = dir.resolve("rotating.csv");
+        try (CsvSink sink = new CsvSink(rotating.toString(), "i", false, 64, false)) {
+            for (int i = 0; i < 100; i++) sink.field(i).endRow();
+        }
+        int rows = 0, files = 0;
+        for (Path p : Files.newDirectoryStream(dir, "rotating.csv*")) {
+            List<String> lines = Files.readAllLines(p);
+            assertEquals("i", lines.get(0));
+            assertTrue(Files.size(p) <= 64 + 4, p + " exceeds the rotation size");
+            rows += lines.size() - 1;
+            files++;
+        }
+        assertEquals(100, rows);
+        assertTrue(files > 1);
+
+        Path gz = dir.resolve("runs.csv.gz");
+        for (int run = 0; run < 2; run++) {
+            try (CsvSink sink = new CsvSink(gz.toString(), "run", true, 0, true)) {
+                sink.field(run).endRow();
+            }
+        }
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(gz)), StandardCharsets.UTF_8))) {
+            assertEquals("run", in.readLine());
+            assertEquals("0", in.readLine());
+            assertEquals("1", in.readLine());
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    void testMetricsKeepColumnLayout() throws Exception {
+        Metrics m = new Metrics("Prim", 3, 10, 18, 1234.5678, 42, 0.12345, true, List.<Edge>of());
+        m.getProfile().addNanos(Phase.SORT, 1_234_567);
+        m.getProfile().add(Counter.FINDS, 9);
+        Path csv = dir.resolve("result.csv");
+        Metrics.exportToCSV(List.of(m), csv.toString());
+
+        List<String> lines = Files.readAllLines(csv);
+        assertTrue(lines.get(0).startsWith("algorithm,graph_id,vertices,edges,total_cost,operations,execution_time_ms,"));
+        String expected = String.format(Locale.US, "%s,%d,%d,%d,%.2f,%d,%.3f", "Prim", 3, 10, 18, 1234.5678, 42L, 0.12345);
+        assertTrue(lines.get(1).startsWith(expected + ","), lines.get(1));
+        if (Profile.ENABLED) assertTrue(lines.get(1).contains(",1.235,"), lines.get(1));
+        assertEquals(lines.get(0).split(",").length, lines.get(1).split(",").length);
+    }
+}
@@ -0,0 +1,56 @@
+package metrics;
+
+import algorithms.Algorithm;
+import graph.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfileTest {
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) h.record(i * 1_000_000L);
+        assertEquals(1000, h.count());
+        assertEquals(500.5, h.meanMs(), 1e-9);
+        assertEquals(1000, h.maxMs(), 1e-9);
+        assertEquals(500, h.percentileMs(50), 500 * 0.07);
+        assertEquals(990, h.percentileMs(99), 990 * 0.07);
+        assertEquals(h.maxMs(), h.percentileMs(100), 1e-9);
+        for (long v : new long[]{0, 1, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE / 2}) {
+            assertTrue(LatencyHistogram.upperBound(LatencyHistogram.bucket(v)) >= v, "bucket of " + v);
+        }
+    }
+
+    @Test
+    void testKruskalReportsSortAndLoopPhases() {
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) nodes.add("N" + i);
+        for (int i = 1; i < 500; i++) edges.add(new Edge("N" + random.nextInt(i), "N" + i, random.nextInt(100)));
+        for (int i = 0; i < 5000; i++) edges.add(new Edge("N" + random.nextInt(500), "N" + random.nextInt(500), random.nextInt(100)));
+        Graph graph = new Graph(1, nodes, edges);
+
+        Assumptions.assumeTrue(Profile.ENABLED);
+        Metrics kruskal = Algorithm.KRUSKAL.run(graph);
+        Profile p = kruskal.getProfile();
+        assertTrue(p.nanos(Phase.SORT) > 0);
+        assertTrue(p.nanos(Phase.MAIN_LOOP) > 0);
+        assertTrue(p.nanos(Phase.ADJACENCY) > 0, "first run builds the compact view");
+        assertFalse(graph.getCompact().hasAdjacency(), "Kruskal never needs the CSR");
+        assertEquals(kruskal.getFinds(), p.count(Counter.FINDS));
+        assertEquals(499, p.count(Counter.UNIONS));
+        assertEquals(p.millis(Phase.SORT) + p.millis(Phase.MAIN_LOOP), kruskal.getExecutionTimeMs(), 1e-3);
+
+        Metrics prim = Algorithm.PRIM.run(graph);
+        assertTrue(graph.getCompact().hasAdjacency());
+        assertTrue(prim.getProfile().nanos(Phase.ADJACENCY) > 0, "Prim builds the CSR outside its own timer");
+        assertEquals(prim.getOperations(), prim.getProfile().count(Counter.HEAP_POLLS));
+        assertTrue(prim.getProfile().count(Counter.HEAP_PUSHES) >= prim.getOperations());
+        assertTrue(Profile.histogram("Kruskal").count() >= 1);
+    }
+}
@@ -0,0 +1,129 @@
+package pipeline;
+
+import algorithms.Algorithm;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import graph.Graph;
+import metrics.Metrics;
+import metrics.Profile;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPreservesInputOrder() throws Exception {
+        Random random = new Random(11);
+        StringBuilder json = new StringBuilder("{\"graphs\": [");
+        for (int id = 1; id <= 40; id++) {
+            int n = 2 + random.nextInt(id % 5 == 0 ? 400 : 20);
+            json.append(id > 1 ? "," : "").append("{\"id\": ").append(id).append(", \"nodes\": [");
+            for (int v = 0; v < n; v++) json.append(v > 0 ? "," : "").append("\"N").append(v).append('"');
+            json.append("], \"edges\": [");
+            for (int v = 1; v < n; v++) {
+                json.append(v > 1 ? "," : "").append("{\"from\": \"N").append(random.nextInt(v))
+                        .append("\", \"to\": \"N").append(v).append("\", \"weight\": ").append(1 + random.nextInt(9)).append('}');
+            }
+            json.append("]}");
+        }
+        json.append("]}");
+        Path input = dir.resolve("input.json");
+        Files.writeString(input, json);
+
+        Path output = dir.resolve("output.json");
+        Path csv = dir.resolve("result.csv");
+        Pipeline pipeline = new Pipeline(List.of(Algorithm.PRIM, Algorithm.KRUSKAL), 4, false, 3);
+        assertEquals(40, pipeline.run(List.of(input.toString()), output.toString(), csv.toString()));
+
+        String out = Files.readString(output);
+        int last = -1;
+        for (int id = 1; id <= 40; id++) {
+            int at = out.indexOf("\"graph_id\": " + id + ",");
+            assertTrue(at > last, "graph " + id + " out of order");
+            last = at;
+        }
+        JsonObject parsed = JsonParser.parseString(out).getAsJsonObject();
+        assertEquals(40, parsed.getAsJsonArray("results").size());
+        if (Profile.ENABLED) assertTrue(parsed.getAsJsonObject("latency_ms").has("prim"));
+
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals(81, rows.size());
+        assertTrue(rows.get(1).startsWith("Prim,1,"));
+        assertTrue(rows.get(41).startsWith("Kruskal,1,"));
+        assertTrue(rows.get(0).endsWith(",load_ms,preprocess_ms,adjacency_ms,sort_ms,main_loop_ms,output_ms,"
+                + "heap_pushes,heap_polls,finds,unions,path_compressions,cached"));
+    }
+
+    @Test
+    void testPreprocessingReportsRemovedEdges() throws Exception {
+        Path input = dir.resolve("dupes.json");
+        Files.writeString(input, "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 4}, {\"from\": \"B\", \"to\": \"A\", \"weight\": 1},"
+                + "{\"from\": \"C\", \"to\": \"C\", \"weight\": 1}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 2}]}]}");
+        Path output = dir.resolve("output.json");
+        Pipeline pipeline = new Pipeline(List.of(Algorithm.KRUSKAL), 1, false, 1);
+        pipeline.setPreprocess(true);
+        assertEquals(1, pipeline.run(List.of(input.toString()), output.toString(), dir.resolve("r.csv").toString()));
+
+        assertEquals(1, pipeline.selfLoopsRemoved());
+        assertEquals(1, pipeline.parallelEdgesRemoved());
+        JsonObject parsed = JsonParser.parseString(Files.readString(output)).getAsJsonObject();
+        assertEquals(1, parsed.getAsJsonObject("preprocessing").get("parallel_edges_removed").getAsInt());
+        assertEquals(3, parsed.getAsJsonArray("results").get(0).getAsJsonObject()
+                .getAsJsonObject("kruskal").get("total_cost").getAsDouble());
+    }
+
+    @Test
+    @Timeout(30)
+    void testErrorOnOneGraphDoesNotHangThePipeline() throws Exception {
+        Path input = chains(6);
+        Pipeline pipeline = new Pipeline(List.of(Algorithm.KRUSKAL), 2, false, 2) {
+            @Override
+            List<Metrics> solve(Graph graph, long loadNanos) {
+                if (graph.getId() == 3) throw new StackOverflowError();
+                return super.solve(graph, loadNanos);
+            }
+        };
+        Path output = dir.resolve("output.json");
+        assertEquals(5, pipeline.run(List.of(input.toString()), output.toString(), dir.resolve("r.csv").toString()));
+        assertEquals(5, JsonParser.parseString(Files.readString(output)).getAsJsonObject()
+                .getAsJsonArray("results").size());
+    }
+
+    @Test
+    @Timeout(30)
+    void testErrorWhileReadingIsRethrown() throws Exception {
+        Path input = chains(2);
+        Pipeline pipeline = new Pipeline(List.of(Algorithm.KRUSKAL), 2, false, 2) {
+            @Override
+            Stream<Graph> open(String inputPath) {
+                throw new OutOfMemoryError("test");
+            }
+        };
+        OutOfMemoryError e = assertThrows(OutOfMemoryError.class, () -> pipeline.run(List.of(input.toString()),
+                dir.resolve("output.json").toString(), dir.resolve("r.csv").toString()));
+        assertEquals("test", e.getMessage());
+    }
+
+    /** Input file with graphs 1..count, each a three-vertex path. */
+    private Path chains(int count) throws Exception {
+        StringBuilder json = new StringBuilder("{\"graphs\": [");
+        for (int id = 1; id <= count; id++) {
+            json.append(id > 1 ? "," : "").append("{\"id\": ").append(id)
+                    .append(", \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": [")
+                    .append("{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 2}]}");
+        }
+        Path input = dir.resolve("chains.json");
+        Files.writeString(input, json.append("]}"));
+        return input;
+    }
+}
@@ -0,0 +1,71 @@
+package plots;
+
+import algorithms.Kruskal;
+import generator.*;
+import graph.*;
+import metrics.Metrics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphPlotterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testLargeGraphModesRenderHeadless() throws Exception {
+        Graph graph = new Graph(new GraphGenerator(GraphModel.ERDOS_RENYI, 3000, 30_000, 7).toCompact(1));
+        Metrics mst = Kruskal.run(graph);
+
+        for (LayoutMethod layout : LayoutMethod.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                PlotOptions options = new PlotOptions().size(640, 480).tileSize(128)
+                        .layout(layout).edgeMode(mode).layoutBudgetMs(200).maxSampledEdges(5000);
+                long start = System.nanoTime();
+                BufferedImage image = GraphPlotter.render(graph, mst, options);
+                long ms = (System.nanoTime() - start) / 1_000_000;
+                assertEquals(640, image.getWidth());
+                assertEquals(480, image.getHeight());
+                assertTrue(ms < 10_000, layout + "/" + mode + " took " + ms + " ms");
+                assertTrue(count(image, 0x1F4E9A) > 0, layout + "/" + mode + " should draw tree edges");
+                if (mode == EdgeMode.DENSITY) assertTrue(countGrey(image) > 0, "density shading missing");
+            }
+        }
+        assertTrue(java.awt.GraphicsEnvironment.isHeadless());
+    }
+
+    @Test
+    void testSavesLargeGraphWithoutMst() throws Exception {
+        Graph graph = new Graph(new GraphGenerator(GraphModel.GRID, 2500, 6000, 3).toCompact(2));
+        Path png = dir.resolve("grid.png");
+        GraphPlotter.saveGraphImage(graph, png.toString());
+        BufferedImage image = ImageIO.read(png.toFile());
+        assertEquals(1200, image.getWidth());
+        assertTrue(count(image, 0xC0C0C0) > 0, "sampled edges should be drawn");
+    }
+
+    private static int count(BufferedImage image, int rgb) {
+        int n = 0;
+        for (int y = 0; y < image.getHeight(); y++)
+            for (int x = 0; x < image.getWidth(); x++) if ((image.getRGB(x, y) & 0xFFFFFF) == rgb) n++;
+        return n;
+    }
+
+    private static int countGrey(BufferedImage image) {
+        int n = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y) & 0xFFFFFF;
+                int r = rgb >> 16, g = rgb >> 8 & 0xFF, b = rgb & 0xFF;
+                if (r == g && g == b && r > 0 && r < 0xFF) n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,131 @@
+package server;
+
+import algorithms.Algorithm;
+import graph.Graph;
+import metrics.Metrics;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MstServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testSolvesBatchesInOrderAndReportsMetrics() throws Exception {
+        try (MstServer server = new MstServer("127.0.0.1", 0, List.of(Algorithm.PRIM, Algorithm.KRUSKAL), 4, 64, true)) {
+            server.start();
+            HttpResponse<String> response = post(server, "/mst", graphs(new Random(3), 12, 300));
+            assertEquals(200, response.statusCode(), response.body());
+            JsonArray results = JsonParser.parseString(response.body()).getAsJsonObject().getAsJsonArray("results");
+            assertEquals(12, results.size());
+            for (int i = 0; i < 12; i++) {
+                JsonObject block = results.get(i).getAsJsonObject();
+                assertEquals(i + 1, block.get("graph_id").getAsInt());
+                assertEquals(block.getAsJsonObject("prim").get("total_cost").getAsDouble(),
+                        block.getAsJsonObject("kruskal").get("total_cost").getAsDouble(), 1e-9);
+            }
+
+            response = post(server, "/mst?algorithms=kruskal", graphs(new Random(4), 1, 20));
+            JsonObject only = JsonParser.parseString(response.body()).getAsJsonObject()
+                    .getAsJsonArray("results").get(0).getAsJsonObject();
+            assertTrue(only.has("kruskal"));
+            assertFalse(only.has("prim"));
+
+            assertEquals(400, post(server, "/mst", "{\"graphs\": [{\"id\": 1, \"nodes\": [").statusCode());
+            assertEquals(400, post(server, "/mst?algorithms=nope", graphs(new Random(5), 1, 5)).statusCode());
+            assertEquals(405, client.send(HttpRequest.newBuilder(uri(server, "/mst")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).statusCode());
+
+            HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(uri(server, "/metrics")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonObject m = JsonParser.parseString(metrics.body()).getAsJsonObject();
+            assertEquals(5, m.getAsJsonObject("requests").get("total").getAsLong());
+            assertEquals(2, m.getAsJsonObject("requests").get("ok").getAsLong());
+            assertEquals(3, m.getAsJsonObject("requests").get("client_errors").getAsLong());
+            assertEquals(13, m.get("graphs_solved").getAsLong());
+            assertTrue(m.getAsJsonObject("throughput").get("graphs_per_s_1m").getAsDouble() > 0);
+            JsonObject latency = m.getAsJsonObject("latency_ms");
+            assertEquals(5, latency.getAsJsonObject("request").get("count").getAsLong());
+            assertEquals(12, latency.getAsJsonObject("prim").get("count").getAsLong());
+            assertTrue(latency.getAsJsonObject("kruskal").get("p99").getAsDouble() > 0);
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void testAdmitsWholeRequestsOrRejectsThem() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (MstServer server = new MstServer("127.0.0.1", 0, List.of(Algorithm.PRIM), 1, 1, false) {
+            @Override
+            List<Metrics> solve(Graph graph, List<Algorithm> algorithms) {
+                if (graph.vertexCount() == 30) {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.solve(graph, algorithms);
+            }
+        }) {
+            server.start();
+            // Three graphs never fit in one slot plus one queued graph, even on an idle server.
+            HttpResponse<String> tooLarge = post(server, "/mst", graphs(new Random(6), 3, 10));
+            assertEquals(413, tooLarge.statusCode());
+            assertTrue(tooLarge.headers().firstValue("Retry-After").isEmpty());
+
+            CompletableFuture<HttpResponse<String>> busy = client.sendAsync(HttpRequest.newBuilder(uri(server, "/mst"))
+                    .POST(HttpRequest.BodyPublishers.ofString(graphs(new Random(7), 2, 30))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            holding.await();
+            HttpResponse<String> rejected = post(server, "/mst", graphs(new Random(8), 1, 10));
+            assertEquals(503, rejected.statusCode());
+            assertTrue(rejected.headers().firstValue("Retry-After").isPresent());
+
+            release.countDown();
+            assertEquals(200, busy.get().statusCode());
+            assertEquals(200, post(server, "/mst", graphs(new Random(8), 2, 10)).statusCode());
+        }
+    }
+
+    private HttpResponse<String> post(MstServer server, String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(server, path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(MstServer server, String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    /** Connected random graphs in the input schema, ids 1..count. */
+    private static String graphs(Random random, int count, int vertices) {
+        StringBuilder json = new StringBuilder("{\"graphs\": [");
+        for (int id = 1; id <= count; id++) {
+            json.append(id > 1 ? "," : "").append("{\"id\": ").append(id).append(", \"nodes\": [");
+            for (int v = 0; v < vertices; v++) json.append(v > 0 ? "," : "").append("\"N").append(v).append('"');
+            json.append("], \"edges\": [");
+            for (int e = 0; e < 4 * vertices; e++) {
+                int to = 1 + e % (vertices - 1);
+                int from = e < vertices - 1 ? random.nextInt(to) : random.nextInt(vertices);
+                json.append(e > 0 ? "," : "").append("{\"from\": \"N").append(from)
+                        .append("\", \"to\": \"N").append(to).append("\", \"weight\": ").append(1 + random.nextInt(99)).append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,77 @@
+package algorithms;
+
+import jdk.incubator.vector.*;
+
+/**
+ * Vector API version of the dense Prim loops, compiled only by the {@code vector}
+ * profile and loaded by {@link DenseScan} when jdk.incubator.vector is present.
+ * The scan keeps a running minimum and its slot per lane and reduces them at the end,
+ * so ties still go to the lowest slot. Relaxation looks up a vector's worth of
+ * neighbour slots, gathers their keys and compares them with the row's weights in one
+ * step, skipping the chunk when no weight beats its key (vertices already in the tree
+ * have key -infinity). The other chunks are committed lane by lane with the scalar
+ * check, which also covers parallel edges that put the same neighbour in two lanes.
+ * Everything stays in the one double species so C2 keeps the vectors in registers.
+ */
+final class VectorDenseScan extends DenseScan {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = DOUBLES.length();
+    /** Lane numbers 0..LANES-1, loaded rather than built with addIndex, which C2 does not intrinsify on 17. */
+    private static final double[] IOTA = new double[LANES];
+
+    static {
+        for (int lane = 0; lane < LANES; lane++) IOTA[lane] = lane;
+    }
+
+    private final ThreadLocal<int[]> slots = ThreadLocal.withInitial(() -> new int[LANES]);
+
+    @Override
+    int argMin(double[] key, int remaining) {
+        if (remaining < 2 * LANES) return super.argMin(key, remaining);
+        DoubleVector step = DoubleVector.broadcast(DOUBLES, LANES);
+        DoubleVector index = DoubleVector.fromArray(DOUBLES, IOTA, 0);
+        DoubleVector min = DoubleVector.fromArray(DOUBLES, key, 0);
+        DoubleVector minIndex = index;
+        int upper = DOUBLES.loopBound(remaining);
+        int i = LANES;
+        for (; i < upper; i += LANES) {
+            index = index.add(step);
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, key, i);
+            VectorMask<Double> lower = v.compare(VectorOperators.LT, min);
+            min = min.blend(v, lower);
+            minIndex = minIndex.blend(index, lower);
+        }
+        double best = min.reduceLanes(VectorOperators.MIN);
+        VectorMask<Double> atMin = min.compare(VectorOperators.EQ, best);
+        int bestSlot = (int) minIndex.blend(Double.MAX_VALUE, atMin.not()).reduceLanes(VectorOperators.MIN);
+        for (; i < remaining; i++) {
+            if (key[i] < best) {
+                best = key[i];
+                bestSlot = i;
+            }
+        }
+        return bestSlot;
+    }
+
+    @Override
+    void relax(int[] targets, double[] adjWeights, int[] adjEdges, int lo, int hi,
+               int[] slotOf, int remaining, double[] key, int[] bestEdge) {
+        int[] slot = slots.get();
+        int s = lo;
+        for (; s + LANES <= hi; s += LANES) {
+            for (int lane = 0; lane < LANES; lane++) slot[lane] = slotOf[targets[s + lane]];
+            DoubleVector current = DoubleVector.fromArray(DOUBLES, key, 0, slot, 0);
+            DoubleVector weights = DoubleVector.fromArray(DOUBLES, adjWeights, s);
+            // anyTrue is intrinsic on 17, toLong is not, so the lanes are found by the scalar check.
+            if (!weights.compare(VectorOperators.LT, current).anyTrue()) continue;
+            for (int lane = 0; lane < LANES; lane++) {
+                int k = slot[lane];
+                if (adjWeights[s + lane] < key[k]) {
+                    key[k] = adjWeights[s + lane];
+                    bestEdge[targets[s + lane]] = adjEdges[s + lane];
+                }
+            }
+        }
+        super.relax(targets, adjWeights, adjEdges, s, hi, slotOf, remaining, key, bestEdge);
+    }
+}